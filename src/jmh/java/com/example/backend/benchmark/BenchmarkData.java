@@ -0,0 +1,87 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.response.MessageResponse;
+import com.example.backend.entity.Post;
+import com.example.backend.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Dữ liệu mẫu cho benchmarks, sinh từ seed cố định để các lần chạy so sánh được với nhau
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 42L;
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static List<User> users(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setFullName("Benchmark User " + i);
+            user.setAvatarUrl("/uploads/avatars/" + i + ".jpg");
+            user.setBio(text(random, 8, 40));
+            user.setCreatedAt(BASE_TIME.plusMinutes(random.nextInt(500_000)));
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static List<Post> posts(int count, List<User> authors) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDateTime createdAt = BASE_TIME.plusMinutes(random.nextInt(500_000));
+            Post post = new Post();
+            post.setId((long) i);
+            post.setUser(authors.get(random.nextInt(authors.size())));
+            post.setCaption(text(random, 10, 200));
+            post.setImageUrl("/uploads/posts/" + i + ".jpg");
+            post.setCreatedAt(createdAt);
+            post.setUpdatedAt(createdAt);
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    public static List<MessageResponse> messages(int count, Long conversationId) {
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        List<MessageResponse> messages = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            // Hội thoại 1-1: hai người gửi xen kẽ
+            long senderId = random.nextBoolean() ? 1L : 2L;
+            messages.add(MessageResponse.builder()
+                    .id((long) i)
+                    .conversationId(conversationId)
+                    .senderId(senderId)
+                    .senderUsername("user" + senderId)
+                    .senderAvatarUrl("/uploads/avatars/" + senderId + ".jpg")
+                    .content(text(random, 2, 120))
+                    .messageType("TEXT")
+                    .createdAt(BASE_TIME.plusSeconds(i * 7L))
+                    .sequence((long) i)
+                    .build());
+        }
+        return messages;
+    }
+
+    private static String text(SplittableRandom random, int minLength, int maxLength) {
+        int length = random.nextInt(minLength, maxLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(random.nextInt(6) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cấu trúc in-memory của feed: tra cứu follow graph và merge timeline của các user đang follow
+ *
+ * Following IDs có dạng giống kết quả FollowerRepository.findFollowingIdsByUserId,
+ * mỗi timeline là post IDs giảm dần (mới nhất trước) như khi đọc theo index (user_id, created_at).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class FeedStructuresBenchmark {
+
+    private static final int USER_COUNT = 100_000;
+    private static final int POSTS_PER_TIMELINE = 50;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"50", "500", "5000"})
+    private int followingCount;
+
+    private List<Long> followingIds;
+    private Set<Long> followingSet;
+    private long[] followingSorted;
+
+    // Tác giả của một trang bài viết cần kiểm tra trạng thái follow
+    private long[] candidateAuthors;
+
+    private long[][] timelines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+
+        Set<Long> ids = new HashSet<>();
+        while (ids.size() < followingCount) {
+            ids.add(1L + random.nextInt(USER_COUNT));
+        }
+        followingIds = new ArrayList<>(ids);
+        followingSet = new HashSet<>(followingIds);
+        followingSorted = followingIds.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        // Một nửa tác giả nằm trong following, một nửa ngẫu nhiên
+        candidateAuthors = new long[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            candidateAuthors[i] = i % 2 == 0
+                    ? followingIds.get(random.nextInt(followingCount))
+                    : 1L + random.nextInt(USER_COUNT);
+        }
+
+        timelines = new long[followingCount][];
+        for (int i = 0; i < followingCount; i++) {
+            long[] timeline = new long[POSTS_PER_TIMELINE];
+            long postId = 10_000_000L;
+            for (int j = 0; j < POSTS_PER_TIMELINE; j++) {
+                postId -= 1 + random.nextInt(10_000);
+                timeline[j] = postId;
+            }
+            timelines[i] = timeline;
+        }
+    }
+
+    @Benchmark
+    public Set<Long> buildFollowingSet() {
+        return new HashSet<>(followingIds);
+    }
+
+    @Benchmark
+    public int followLookupHashSet() {
+        int following = 0;
+        for (long authorId : candidateAuthors) {
+            if (followingSet.contains(authorId)) {
+                following++;
+            }
+        }
+        return following;
+    }
+
+    @Benchmark
+    public int followLookupSortedArray() {
+        int following = 0;
+        for (long authorId : candidateAuthors) {
+            if (Arrays.binarySearch(followingSorted, authorId) >= 0) {
+                following++;
+            }
+        }
+        return following;
+    }
+
+    /**
+     * K-way merge bằng heap, chỉ đọc đủ một trang
+     */
+    @Benchmark
+    public long[] feedMergeHeap() {
+        // Mỗi phần tử heap: {timeline index, vị trí trong timeline}
+        PriorityQueue<int[]> heap = new PriorityQueue<>(timelines.length,
+                (a, b) -> Long.compare(timelines[b[0]][b[1]], timelines[a[0]][a[1]]));
+        for (int i = 0; i < timelines.length; i++) {
+            heap.add(new int[]{i, 0});
+        }
+
+        long[] page = new long[PAGE_SIZE];
+        for (int n = 0; n < PAGE_SIZE && !heap.isEmpty(); n++) {
+            int[] head = heap.poll();
+            page[n] = timelines[head[0]][head[1]];
+            if (++head[1] < POSTS_PER_TIMELINE) {
+                heap.add(head);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Gộp toàn bộ rồi sort, làm mốc so sánh với feedMergeHeap
+     */
+    @Benchmark
+    public long[] feedMergeSortAll() {
+        long[] all = new long[timelines.length * POSTS_PER_TIMELINE];
+        for (int i = 0; i < timelines.length; i++) {
+            System.arraycopy(timelines[i], 0, all, i * POSTS_PER_TIMELINE, POSTS_PER_TIMELINE);
+        }
+        Arrays.sort(all);
+
+        long[] page = new long[PAGE_SIZE];
+        for (int n = 0; n < PAGE_SIZE; n++) {
+            page[n] = all[all.length - 1 - n];
+        }
+        return page;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.dto.response.UserResponse;
+import com.example.backend.entity.Post;
+import com.example.backend.entity.User;
+import com.example.backend.mapper.PostMapper;
+import com.example.backend.mapper.UserMapper;
+import com.example.backend.repository.FollowerRepository;
+import com.example.backend.repository.PostRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map entity -> DTO cho cả một trang lớn (profile, feed, search)
+ *
+ * Repository của UserMapper được thay bằng stub trả về hằng số, nên số đo chỉ gồm
+ * chi phí mapping + gọi repository, không gồm DB.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private final PostMapper postMapper = new PostMapper();
+    private final UserMapper userMapper = new UserMapper(
+            stub(FollowerRepository.class), stub(PostRepository.class));
+
+    private List<User> users;
+    private List<Post> posts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        users = BenchmarkData.users(size);
+        posts = BenchmarkData.posts(size, users);
+    }
+
+    @Benchmark
+    public List<PostResponse> postsToResponse() {
+        List<PostResponse> responses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            responses.add(postMapper.toResponse(post, 12L, 3L, false));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<UserResponse> usersToResponse() {
+        List<UserResponse> responses = new ArrayList<>(users.size());
+        for (User user : users) {
+            responses.add(userMapper.toUserResponse(user, 1L));
+        }
+        return responses;
+    }
+
+    /**
+     * Stub repository: count* trả về 0, exists* trả về false
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> repositoryType) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == Long.class || returnType == long.class) {
+                        return 0L;
+                    }
+                    if (returnType == Boolean.class || returnType == boolean.class) {
+                        return false;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.security;
+
+import com.example.backend.metrics.HotPathMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verify JWT trên filter path: lần đầu (parse + HMAC) và lần sau (lấy từ cache claims)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JwtVerifyBenchmark {
+
+    // Lớn hơn verified-cache của provider "uncached" để mọi lần verify đều phải parse
+    private static final int TOKEN_COUNT = 4096;
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+
+    private String hotToken;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedProvider = provider(10_000);
+        uncachedProvider = provider(1);
+
+        hotToken = cachedProvider.generateToken(principal(1L));
+        cachedProvider.verify(hotToken);
+
+        tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = uncachedProvider.generateToken(principal(i + 1L));
+        }
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cachedProvider.verify(hotToken);
+    }
+
+    @Benchmark
+    public Object verifyUncached() {
+        String token = tokens[next];
+        next = (next + 1) % TOKEN_COUNT;
+        return uncachedProvider.verify(token);
+    }
+
+    private static JwtTokenProvider provider(long verifiedCacheMaxSize) {
+        // Bloom filter rỗng nên registry không bao giờ chạm tới repository
+        RevokedTokenRegistry revokedTokenRegistry = new RevokedTokenRegistry(null, 100_000, 0.001);
+        JwtTokenProvider provider = new JwtTokenProvider(
+                revokedTokenRegistry, new HotPathMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(provider, "jwtSecret",
+                "benchmarkSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong");
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        provider.init();
+        return provider;
+    }
+
+    private static UserPrincipal principal(Long id) {
+        return new UserPrincipal(id, "user" + id, "user" + id + "@example.com", null, List.of());
+    }
+}
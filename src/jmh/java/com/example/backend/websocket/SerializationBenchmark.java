@@ -0,0 +1,101 @@
+package com.example.backend.websocket;
+
+import com.example.backend.benchmark.BenchmarkData;
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.dto.response.MessageResponse;
+import com.example.backend.dto.response.PageResponse;
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.entity.Post;
+import com.example.backend.mapper.PostMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize response REST (ApiResponse + PageResponse) và payload chat (JSON so với CBOR rút gọn key)
+ *
+ * ObjectMapper được build giống mặc định của Spring Boot (JavaTimeModule, ngày dạng ISO).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private CompactCborMessageConverter cborConverter;
+
+    private ApiResponse<PageResponse<PostResponse>> postPage;
+    private MessageResponse message;
+    private Map<String, Object> messageHistory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborConverter = new CompactCborMessageConverter(objectMapper, new StompSessionEncodingRegistry());
+
+        PostMapper postMapper = new PostMapper();
+        List<Post> posts = BenchmarkData.posts(pageSize, BenchmarkData.users(50));
+        List<PostResponse> content = posts.stream()
+                .map(post -> postMapper.toResponse(post, 12L, 3L, false))
+                .toList();
+        postPage = ApiResponse.success("Feed retrieved successfully", PageResponse.<PostResponse>builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(pageSize)
+                .totalElements(10_000)
+                .totalPages(10_000 / pageSize)
+                .last(false)
+                .build());
+
+        List<MessageResponse> messages = BenchmarkData.messages(pageSize, 1L);
+        message = messages.get(0);
+        messageHistory = Map.of("messages", messages, "currentSequence", (long) pageSize, "hasMore", false);
+    }
+
+    @Benchmark
+    public byte[] postPageJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] messageJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] messageCbor() throws JsonProcessingException {
+        return cborConverter.encode(message, null);
+    }
+
+    @Benchmark
+    public byte[] messageHistoryJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(messageHistory);
+    }
+
+    @Benchmark
+    public byte[] messageHistoryCbor() throws JsonProcessingException {
+        return cborConverter.encode(messageHistory, null);
+    }
+}
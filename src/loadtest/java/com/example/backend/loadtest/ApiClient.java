@@ -0,0 +1,166 @@
+package com.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * HTTP client của load test: đăng nhập user tổng hợp và gửi request REST có đo latency
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LatencyReport report;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+
+    public ApiClient(String baseUrl, LatencyReport report) {
+        this.baseUrl = baseUrl;
+        this.report = report;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Đăng nhập, nếu thất bại và cho phép thì đăng ký user mới
+     */
+    public Session login(String username, String password, boolean register) throws IOException, InterruptedException {
+        HttpResponse<String> response = postJson("/api/auth/login",
+                Map.of("username", username, "password", password));
+        if (response.statusCode() == 401 && register) {
+            response = postJson("/api/auth/register", Map.of(
+                    "username", username,
+                    "email", username + "@loadtest.local",
+                    "password", password,
+                    "fullName", "Load Test " + username));
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.statusCode()
+                    + " " + response.body());
+        }
+
+        JsonNode body = objectMapper.readTree(response.body());
+        return new Session(body.path("id").asLong(), username,
+                body.path("accessToken").asText(), body.path("refreshToken").asText());
+    }
+
+    /**
+     * Lấy access token mới khi token cũ hết hạn (access token mặc định chỉ sống 15 phút).
+     * Chỉ refresh nếu chưa có thread nào khác refresh, vì dùng lại refresh token cũ
+     * sẽ bị server coi là reuse và thu hồi cả family.
+     */
+    public synchronized void refresh(Session session, String expiredAccessToken)
+            throws IOException, InterruptedException {
+        if (!expiredAccessToken.equals(session.accessToken)) {
+            return;
+        }
+        HttpResponse<String> response = postJson("/api/auth/refresh",
+                Map.of("refreshToken", session.refreshToken));
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Token refresh failed for " + session.username
+                    + ": HTTP " + response.statusCode());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        session.accessToken = body.path("accessToken").asText();
+        session.refreshToken = body.path("refreshToken").asText();
+    }
+
+    public int get(String step, Session session, String path) {
+        return send(step, session, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    public int post(String step, Session session, String path) {
+        return send(step, session, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    public int delete(String step, Session session, String path) {
+        return send(step, session, HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE());
+    }
+
+    /**
+     * Gửi request, ghi latency vào report; tự refresh token một lần khi gặp 401
+     * @return HTTP status, -1 nếu lỗi kết nối
+     */
+    private int send(String step, Session session, HttpRequest.Builder builder) {
+        builder.timeout(REQUEST_TIMEOUT);
+        try {
+            String accessToken = session.accessToken;
+            int status = execute(step, accessToken, builder);
+            if (status == 401) {
+                refresh(session, accessToken);
+                status = execute(step, session.accessToken, builder);
+                if (status == 401) {
+                    report.error(step);
+                }
+            }
+            return status;
+        } catch (IOException | IllegalStateException e) {
+            report.error(step);
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private int execute(String step, String accessToken, HttpRequest.Builder builder)
+            throws IOException, InterruptedException {
+        HttpRequest request = builder.copy()
+                .header("Authorization", "Bearer " + accessToken)
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        long latency = System.nanoTime() - start;
+
+        int status = response.statusCode();
+        if (status / 100 == 2) {
+            report.success(step, latency);
+        } else if (status == 429) {
+            report.rejected(step);
+        } else if (status != 401) {
+            report.error(step);
+        }
+        return status;
+    }
+
+    private HttpResponse<String> postJson(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * User đã đăng nhập
+     */
+    @Getter
+    public static final class Session {
+
+        private final Long userId;
+        private final String username;
+        private volatile String accessToken;
+        private volatile String refreshToken;
+
+        private Session(Long userId, String username, String accessToken, String refreshToken) {
+            this.userId = userId;
+            this.username = username;
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+    }
+}
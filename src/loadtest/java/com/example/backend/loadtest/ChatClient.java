@@ -0,0 +1,111 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.loadtest.ApiClient.Session;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * STOMP client của load test, kết nối /ws qua SockJS giống web client hoặc /ws-native bằng WebSocket thuần
+ * (loadtest.endpoint). Frame / byte trên socket được đếm bởi CountingWebSocketClient.
+ *
+ * Mỗi tin nhắn mang thời điểm gửi trong content ("lt:{nanoTime}:..."), khi frame tương ứng
+ * về tới /user/queue/messages của bất kỳ user nào trong cùng JVM thì ghi latency chat.delivery.
+ */
+public class ChatClient {
+
+    static final String SEND_STEP = "chat.send";
+    static final String DELIVERY_STEP = "chat.delivery";
+
+    private static final String CONTENT_PREFIX = "lt:";
+
+    private final String wsUrl;
+    private final LatencyReport report;
+    private final WebSocketStompClient stompClient;
+
+    public ChatClient(String wsUrl, ChatEndpoint endpoint, LatencyReport report) {
+        this.wsUrl = wsUrl;
+        this.report = report;
+        WebSocketClient webSocketClient = new CountingWebSocketClient(report);
+        this.stompClient = new WebSocketStompClient(endpoint == ChatEndpoint.SOCKJS
+                ? new SockJsClient(List.of(new WebSocketTransport(webSocketClient)))
+                : webSocketClient);
+        this.stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    public StompSession connect(Session session) throws InterruptedException, ExecutionException, TimeoutException {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + session.getAccessToken());
+
+        StompSession stompSession = stompClient
+                .connectAsync(wsUrl, new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+                    @Override
+                    public void handleTransportError(StompSession stompSession, Throwable exception) {
+                        report.error(SEND_STEP);
+                    }
+                })
+                .get(10, TimeUnit.SECONDS);
+
+        stompSession.subscribe("/user/queue/messages", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                onMessage((Map<?, ?>) payload);
+            }
+        });
+        return stompSession;
+    }
+
+    /**
+     * Gửi một loạt tin nhắn liên tiếp, latency chat.send là thời gian ghi frame ra socket
+     */
+    public void sendBurst(StompSession stompSession, Long recipientId, int burst) {
+        for (int i = 0; i < burst; i++) {
+            long start = System.nanoTime();
+            try {
+                stompSession.send("/app/chat.send", Map.of(
+                        "recipientId", recipientId,
+                        "content", CONTENT_PREFIX + start + ":" + i,
+                        "messageType", "text"));
+                report.success(SEND_STEP, System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                report.error(SEND_STEP);
+            }
+        }
+    }
+
+    private void onMessage(Map<?, ?> payload) {
+        Object content = payload.get("content");
+        if (!(content instanceof String text) || !text.startsWith(CONTENT_PREFIX)) {
+            return;
+        }
+        int end = text.indexOf(':', CONTENT_PREFIX.length());
+        if (end < 0) {
+            return;
+        }
+        long sentAt = Long.parseLong(text.substring(CONTENT_PREFIX.length(), end));
+        report.success(DELIVERY_STEP, System.nanoTime() - sentAt);
+    }
+
+    public void stop() {
+        stompClient.stop();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * STOMP endpoint mà load test kết nối tới
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ChatEndpoint {
+
+    // /ws qua SockJS (WebSocket transport) giống web client: mỗi frame bọc trong mảng JSON của SockJS
+    SOCKJS("sockjs", "/ws"),
+    // /ws-native bằng WebSocket thuần giống native app
+    NATIVE("native", "/ws-native");
+
+    private final String key;
+    private final String path;
+
+    public static ChatEndpoint fromKey(String key) {
+        for (ChatEndpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load test endpoint: " + key);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.backend.loadtest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * WebSocket client đếm frame và byte thực sự đi qua socket
+ *
+ * Nằm dưới SockJS (WebSocketTransport) nên số byte đã gồm framing SockJS ("a[...]", heartbeat "h"),
+ * dùng để so sánh overhead mỗi frame giữa /ws và /ws-native.
+ */
+public class CountingWebSocketClient extends StandardWebSocketClient {
+
+    private final LatencyReport report;
+
+    public CountingWebSocketClient(LatencyReport report) {
+        this.report = report;
+    }
+
+    @Override
+    protected CompletableFuture<WebSocketSession> executeInternal(WebSocketHandler webSocketHandler,
+            HttpHeaders headers, URI uri, List<String> protocols,
+            List<WebSocketExtension> extensions, Map<String, Object> attributes) {
+        return super.executeInternal(new CountingHandler(webSocketHandler), headers, uri, protocols,
+                extensions, attributes);
+    }
+
+    private static int bytes(WebSocketMessage<?> message) {
+        // TextMessage.getPayloadLength() đếm ký tự, không phải byte UTF-8 trên dây
+        return message instanceof TextMessage text ? text.asBytes().length : message.getPayloadLength();
+    }
+
+    private final class CountingHandler extends WebSocketHandlerDecorator {
+
+        private volatile WebSocketSession countingSession;
+
+        private CountingHandler(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            countingSession = new CountingSession(session);
+            super.afterConnectionEstablished(countingSession);
+        }
+
+        @Override
+        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+            report.frameReceived(bytes(message));
+            super.handleMessage(wrapped(session), message);
+        }
+
+        @Override
+        public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+            super.handleTransportError(wrapped(session), exception);
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            super.afterConnectionClosed(wrapped(session), closeStatus);
+        }
+
+        private WebSocketSession wrapped(WebSocketSession session) {
+            WebSocketSession counting = countingSession;
+            return counting != null ? counting : session;
+        }
+    }
+
+    private final class CountingSession extends WebSocketSessionDecorator {
+
+        private CountingSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            report.frameSent(bytes(message));
+            super.sendMessage(message);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ghi latency theo từng bước (feed.page, like, chat.send, ...) và in bảng throughput + percentile
+ *
+ * Chỉ ghi nhận sau khi hết warmup. Request bị 429 được đếm riêng, không tính vào latency.
+ */
+public class LatencyReport {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final Duration expiry;
+
+    // Frame WebSocket trên socket (gồm framing SockJS nếu kết nối /ws), xem CountingWebSocketClient
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    // Chỉ có giá trị ở loadtest.mode=capacity
+    private volatile Long sustainedSessions;
+
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+    private volatile long measureToNanos = Long.MAX_VALUE;
+
+    public LatencyReport(Duration runDuration) {
+        // Percentile phải bao toàn bộ lần chạy, không trượt theo cửa sổ thời gian
+        this.expiry = runDuration.plusMinutes(10);
+    }
+
+    public void startMeasuring() {
+        measureFromNanos = System.nanoTime();
+    }
+
+    public void stopMeasuring() {
+        measureToNanos = System.nanoTime();
+    }
+
+    public void success(String step, long latencyNanos) {
+        if (measuring()) {
+            step(step).timer.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void rejected(String step) {
+        if (measuring()) {
+            step(step).rejected.increment();
+        }
+    }
+
+    public void error(String step) {
+        if (measuring()) {
+            step(step).errors.increment();
+        }
+    }
+
+    public void frameSent(int bytes) {
+        if (measuring()) {
+            framesSent.increment();
+            bytesSent.add(bytes);
+        }
+    }
+
+    public void frameReceived(int bytes) {
+        if (measuring()) {
+            framesReceived.increment();
+            bytesReceived.add(bytes);
+        }
+    }
+
+    public void sustainedSessions(long sessions) {
+        this.sustainedSessions = sessions;
+    }
+
+    /**
+     * Số lần thành công đã ghi nhận của một bước (0 nếu bước chưa từng được ghi)
+     */
+    public long okCount(String step) {
+        Step recorded = steps.get(step);
+        return recorded != null ? recorded.timer.count() : 0;
+    }
+
+    private boolean measuring() {
+        long now = System.nanoTime();
+        return now >= measureFromNanos && now < measureToNanos;
+    }
+
+    private Step step(String name) {
+        return steps.computeIfAbsent(name, key -> new Step(Timer.builder("loadtest." + key)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(expiry)
+                .distributionStatisticBufferLength(1)
+                .register(registry)));
+    }
+
+    public List<StepResult> results() {
+        double seconds = (measureToNanos - measureFromNanos) / 1e9;
+        List<StepResult> results = new ArrayList<>();
+        steps.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> results.add(entry.getValue().result(entry.getKey(), seconds)));
+        return results;
+    }
+
+    public TransportResult transport() {
+        return new TransportResult(framesSent.sum(), bytesSent.sum(), framesReceived.sum(), bytesReceived.sum(),
+                okCount(ChatClient.DELIVERY_STEP), sustainedSessions);
+    }
+
+    public void print() {
+        System.out.printf("%-16s %10s %8s %8s %10s %9s %9s %9s %9s%n",
+                "step", "ok", "rejected", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (StepResult result : results()) {
+            System.out.printf("%-16s %10d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.getStep(), result.getOk(), result.getRejected(), result.getErrors(),
+                    result.getThroughput(), result.getPercentiles().get("p50"), result.getPercentiles().get("p95"),
+                    result.getPercentiles().get("p99"), result.getMax());
+        }
+
+        TransportResult transport = transport();
+        System.out.printf("%nws frames out %d (%.1f B/frame), in %d (%.1f B/frame), %.1f B received per chat delivery%n",
+                transport.getFramesSent(), transport.getBytesPerFrameSent(),
+                transport.getFramesReceived(), transport.getBytesPerFrameReceived(),
+                transport.getBytesReceivedPerDelivery());
+        if (transport.getSustainedSessions() != null) {
+            System.out.printf("sustained STOMP sessions: %d%n", transport.getSustainedSessions());
+        }
+    }
+
+    public void write(Path file, LoadTestSettings settings) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("settings", Map.of(
+                "users", settings.getUsers(),
+                "concurrency", settings.getConcurrency(),
+                "durationSeconds", settings.getDuration().toSeconds(),
+                "seed", settings.getSeed(),
+                "mix", settings.getMix(),
+                "endpoint", settings.getEndpoint().getKey(),
+                "mode", settings.getMode()));
+        document.put("steps", results());
+        document.put("transport", transport());
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), document);
+    }
+
+    private static final class Step {
+
+        private final Timer timer;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Step(Timer timer) {
+            this.timer = timer;
+        }
+
+        private StepResult result(String name, double seconds) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+            }
+            return new StepResult(name, snapshot.count(), rejected.sum(), errors.sum(),
+                    seconds > 0 ? snapshot.count() / seconds : 0,
+                    percentiles, snapshot.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Getter
+    public static final class StepResult {
+
+        private final String step;
+        private final long ok;
+        private final long rejected;
+        private final long errors;
+        private final double throughput;
+        private final Map<String, Double> percentiles;
+        private final double max;
+
+        private StepResult(String step, long ok, long rejected, long errors, double throughput,
+                           Map<String, Double> percentiles, double max) {
+            this.step = step;
+            this.ok = ok;
+            this.rejected = rejected;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.percentiles = percentiles;
+            this.max = max;
+        }
+    }
+
+    @Getter
+    public static final class TransportResult {
+
+        private final long framesSent;
+        private final long bytesSent;
+        private final long framesReceived;
+        private final long bytesReceived;
+        private final double bytesPerFrameSent;
+        private final double bytesPerFrameReceived;
+        private final double bytesReceivedPerDelivery;
+        private final Long sustainedSessions;
+
+        private TransportResult(long framesSent, long bytesSent, long framesReceived, long bytesReceived,
+                                long deliveries, Long sustainedSessions) {
+            this.framesSent = framesSent;
+            this.bytesSent = bytesSent;
+            this.framesReceived = framesReceived;
+            this.bytesReceived = bytesReceived;
+            this.bytesPerFrameSent = framesSent > 0 ? (double) bytesSent / framesSent : 0;
+            this.bytesPerFrameReceived = framesReceived > 0 ? (double) bytesReceived / framesReceived : 0;
+            this.bytesReceivedPerDelivery = deliveries > 0 ? (double) bytesReceived / deliveries : 0;
+            this.sustainedSessions = sustainedSessions;
+        }
+    }
+}
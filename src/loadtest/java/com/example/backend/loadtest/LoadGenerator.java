@@ -0,0 +1,217 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.loadtest.ApiClient.Session;
+import org.springframework.messaging.simp.stomp.StompSession;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Load test end-to-end cho REST + STOMP
+ *
+ * 1. Đăng nhập N user tổng hợp qua /api/auth/login (và kết nối STOMP nếu mix có chat)
+ * 2. Chạy C worker trong (warmup + duration), mỗi vòng chọn một thao tác theo trọng số trong mix
+ * 3. In throughput + p50/p95/p99 theo từng bước, số frame / byte WebSocket và ghi JSON ra loadtest.result-file
+ *
+ * Với loadtest.mode=capacity thì bước 2 được thay bằng probeCapacity (số STOMP session duy trì được).
+ *
+ * Lựa chọn thao tác / user dựng từ seed cố định nên hai lần chạy với cùng tham số có cùng mix.
+ */
+public class LoadGenerator {
+
+    private final LoadTestSettings settings;
+    private final LatencyReport report;
+    private final ApiClient apiClient;
+    private final ChatClient chatClient;
+
+    private final List<Session> sessions = new ArrayList<>();
+    private final Map<Long, StompSession> stompSessions = new ConcurrentHashMap<>();
+    // Trạng thái like của từng user trên hot post, để luân phiên like / unlike
+    private final Map<Long, Boolean> liked = new ConcurrentHashMap<>();
+
+    private final Operation[] weightedOperations;
+
+    public LoadGenerator(LoadTestSettings settings) {
+        this.settings = settings;
+        this.report = new LatencyReport(settings.getWarmup().plus(settings.getDuration()));
+        this.apiClient = new ApiClient(settings.getBaseUrl(), report);
+        this.chatClient = new ChatClient(settings.wsUrl(), settings.getEndpoint(), report);
+        this.weightedOperations = expandMix(settings.getMix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        new LoadGenerator(settings).run();
+    }
+
+    public void run() throws Exception {
+        boolean capacity = settings.getMode() == LoadTestSettings.Mode.CAPACITY;
+        System.out.printf("Logging in %d users against %s (%s endpoint)%n",
+                settings.getUsers(), settings.getBaseUrl(), settings.getEndpoint().getKey());
+        for (int i = 1; i <= settings.getUsers(); i++) {
+            Session session = apiClient.login(settings.username(i), settings.getPassword(), settings.isRegister());
+            sessions.add(session);
+            if (!capacity && settings.getMix().containsKey(Operation.CHAT)) {
+                stompSessions.put(session.getUserId(), chatClient.connect(session));
+            }
+        }
+
+        if (capacity) {
+            probeCapacity();
+            writeReport();
+            return;
+        }
+
+        System.out.printf("Running %d workers for %ds (+%ds warmup), mix %s%n", settings.getConcurrency(),
+                settings.getDuration().toSeconds(), settings.getWarmup().toSeconds(), settings.getMix());
+
+        long start = System.nanoTime();
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long deadline = measureFrom + settings.getDuration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getConcurrency());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.getConcurrency(); i++) {
+            SplittableRandom random = new SplittableRandom(settings.getSeed() + i);
+            futures.add(workers.submit(() -> work(random, deadline)));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+        report.startMeasuring();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        report.stopMeasuring();
+        workers.shutdown();
+
+        // Chờ các frame chat cuối cùng về tới trước khi đóng kết nối
+        TimeUnit.SECONDS.sleep(1);
+        stompSessions.values().forEach(StompSession::disconnect);
+        chatClient.stop();
+
+        writeReport();
+
+        // Không nhận được frame nào nghĩa là routing /user/queue/messages hỏng, không phải latency tốt
+        long sent = report.okCount(ChatClient.SEND_STEP);
+        if (sent > 0 && report.okCount(ChatClient.DELIVERY_STEP) == 0) {
+            throw new IllegalStateException("No " + ChatClient.DELIVERY_STEP + " frames received for "
+                    + sent + " sent chat messages, check STOMP user destination routing");
+        }
+    }
+
+    /**
+     * Mở thêm capacity-step STOMP session mỗi đợt (xoay vòng qua các user đã đăng nhập), giữ capacity-hold
+     * rồi kiểm tra tất cả còn kết nối. Dừng khi connect lỗi / timeout, có session bị đóng hoặc đạt capacity-max;
+     * số session của đợt cuối còn nguyên vẹn là số session duy trì được.
+     */
+    private void probeCapacity() throws InterruptedException {
+        List<StompSession> open = new ArrayList<>();
+        long sustained = 0;
+        report.startMeasuring();
+        try {
+            while (open.size() < settings.getCapacityMax()) {
+                int target = Math.min(open.size() + settings.getCapacityStep(), settings.getCapacityMax());
+                try {
+                    while (open.size() < target) {
+                        open.add(chatClient.connect(sessions.get(open.size() % sessions.size())));
+                    }
+                } catch (ExecutionException | TimeoutException e) {
+                    System.out.printf("Connect failed after %d sessions: %s%n", open.size(), e.getMessage());
+                    break;
+                }
+
+                TimeUnit.SECONDS.sleep(settings.getCapacityHold().toSeconds());
+                long connected = open.stream().filter(StompSession::isConnected).count();
+                System.out.printf("%d sessions opened, %d connected after %ds%n",
+                        open.size(), connected, settings.getCapacityHold().toSeconds());
+                if (connected < open.size()) {
+                    break;
+                }
+                sustained = connected;
+            }
+        } finally {
+            report.stopMeasuring();
+            open.stream().filter(StompSession::isConnected).forEach(StompSession::disconnect);
+            chatClient.stop();
+        }
+        report.sustainedSessions(sustained);
+    }
+
+    private void writeReport() throws IOException {
+        report.print();
+        Path resultFile = Path.of(settings.getResultFile());
+        report.write(resultFile, settings);
+        System.out.printf("Results written to %s%n", resultFile.toAbsolutePath());
+    }
+
+    private void work(SplittableRandom random, long deadline) {
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            Session session = sessions.get(random.nextInt(sessions.size()));
+            switch (weightedOperations[random.nextInt(weightedOperations.length)]) {
+                case FEED -> scrollFeed(session);
+                case LIKE -> toggleLike(session);
+                case INBOX -> apiClient.get("inbox", session, "/api/messages/conversations?page=0&size=20");
+                case CHAT -> chatBurst(random, session);
+            }
+        }
+    }
+
+    private void scrollFeed(Session session) {
+        for (int page = 0; page < settings.getFeedPages(); page++) {
+            int status = apiClient.get("feed.page", session,
+                    "/api/posts/feed?page=" + page + "&size=" + settings.getFeedPageSize());
+            if (status / 100 != 2) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tất cả user cùng like / unlike một post để tạo tranh chấp trên cùng row
+     */
+    private void toggleLike(Session session) {
+        String path = "/api/posts/" + settings.getHotPostId() + "/likes";
+        boolean currentlyLiked = liked.getOrDefault(session.getUserId(), false);
+        int status = currentlyLiked
+                ? apiClient.delete("unlike", session, path)
+                : apiClient.post("like", session, path);
+        if (status / 100 == 2 || status == 400 || status == 404) {
+            // 400/404: trạng thái thực trên server ngược với local (ví dụ đã like từ lần chạy trước)
+            liked.put(session.getUserId(), !currentlyLiked);
+        }
+    }
+
+    private void chatBurst(SplittableRandom random, Session session) {
+        StompSession stompSession = stompSessions.get(session.getUserId());
+        if (stompSession == null || !stompSession.isConnected() || sessions.size() < 2) {
+            report.error(ChatClient.SEND_STEP);
+            return;
+        }
+        Session recipient;
+        do {
+            recipient = sessions.get(random.nextInt(sessions.size()));
+        } while (recipient == session);
+        chatClient.sendBurst(stompSession, recipient.getUserId(), settings.getChatBurst());
+    }
+
+    private static Operation[] expandMix(Map<Operation, Integer> mix) {
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations.toArray(new Operation[0]);
+    }
+}
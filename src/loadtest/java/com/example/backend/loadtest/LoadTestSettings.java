@@ -0,0 +1,122 @@
+package com.example.backend.loadtest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tham số của load test, đọc từ system properties loadtest.*
+ *
+ * Server cần được chạy với rate limit nới rộng, ví dụ:
+ * --app.rate-limit.auth.capacity=100000 --app.rate-limit.write.capacity=100000
+ * --app.rate-limit.message-send.capacity=100000
+ * (nếu không, các request bị 429 được đếm riêng trong cột "rejected").
+ *
+ * loadtest.mode=capacity không chạy mix mà mở dần STOMP session (capacity-step mỗi đợt, giữ capacity-hold giây)
+ * đến khi kết nối lỗi / bị đóng hoặc đạt capacity-max, để so sánh số session duy trì được giữa các endpoint.
+ */
+@Getter
+public class LoadTestSettings {
+
+    private final String baseUrl;
+    // Users có dạng {userPrefix}{i}, i = 1..users, cùng một password (giống data seeder)
+    private final String userPrefix;
+    private final int users;
+    private final String password;
+    private final boolean register;
+
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+
+    // Trọng số mỗi loại thao tác trong mix
+    private final Map<Operation, Integer> mix;
+
+    private final long hotPostId;
+    private final int feedPages;
+    private final int feedPageSize;
+    private final int chatBurst;
+
+    private final String resultFile;
+
+    // sockjs (/ws) hoặc native (/ws-native)
+    private final ChatEndpoint endpoint;
+    private final Mode mode;
+    private final int capacityMax;
+    private final int capacityStep;
+    private final Duration capacityHold;
+
+    private LoadTestSettings() {
+        this.baseUrl = property("base-url", "http://localhost:8080");
+        this.userPrefix = property("user-prefix", "user");
+        this.users = Integer.parseInt(property("users", "50"));
+        this.password = property("password", "password123");
+        this.register = Boolean.parseBoolean(property("register", "false"));
+        this.concurrency = Integer.parseInt(property("concurrency", "16"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(property("warmup", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(property("duration", "60")));
+        this.seed = Long.parseLong(property("seed", "42"));
+        this.mix = parseMix(property("mix", "feed=50,like=20,inbox=20,chat=10"));
+        this.hotPostId = Long.parseLong(property("hot-post-id", "1"));
+        this.feedPages = Integer.parseInt(property("feed-pages", "5"));
+        this.feedPageSize = Integer.parseInt(property("feed-page-size", "10"));
+        this.chatBurst = Integer.parseInt(property("chat-burst", "10"));
+        this.resultFile = property("result-file", "target/loadtest-result.json");
+        this.endpoint = ChatEndpoint.fromKey(property("endpoint", "sockjs"));
+        this.mode = Mode.valueOf(property("mode", "mix").toUpperCase());
+        this.capacityMax = Integer.parseInt(property("capacity-max", "10000"));
+        this.capacityStep = Integer.parseInt(property("capacity-step", "500"));
+        this.capacityHold = Duration.ofSeconds(Long.parseLong(property("capacity-hold", "10")));
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    /**
+     * SockJS client nhận URL http(s), WebSocket thuần cần ws(s)
+     */
+    public String wsUrl() {
+        String url = baseUrl + endpoint.getPath();
+        return endpoint == ChatEndpoint.NATIVE ? url.replaceFirst("^http", "ws") : url;
+    }
+
+    public String username(int index) {
+        return userPrefix + index;
+    }
+
+    public enum Mode {
+        // Chạy mix thao tác, đo latency theo bước
+        MIX,
+        // Đo số STOMP session duy trì được
+        CAPACITY
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    /**
+     * Parse mix dạng "feed=50,like=20,inbox=20,chat=10"
+     */
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must contain at least one operation");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Các loại thao tác trong mix của load test
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+
+    // Cuộn feed nhiều trang liên tiếp (GET /api/posts/feed)
+    FEED("feed"),
+    // Like / unlike liên tục trên cùng một post nóng (POST, DELETE /api/posts/{id}/likes)
+    LIKE("like"),
+    // Refresh hộp thư (GET /api/messages/conversations)
+    INBOX("inbox"),
+    // Gửi một loạt tin nhắn qua STOMP (/app/chat.send)
+    CHAT("chat");
+
+    private final String key;
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load test operation: " + key);
+    }
+}
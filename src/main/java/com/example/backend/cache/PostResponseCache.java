@@ -0,0 +1,93 @@
+package com.example.backend.cache;
+
+import com.example.backend.dto.projection.PostSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache phần PostResponse không phụ thuộc người xem (post, tác giả, like / comment count) theo post ID
+ *
+ * Like / comment patch count trực tiếp trên entry, sửa caption / xóa post / đổi profile tác giả
+ * thì xóa entry (PostResponseCacheListener). Patch không gia hạn TTL: một thao tác chạy song song
+ * với lúc nạp entry có thể bị đếm lệch 1, entry được nạp lại từ DB sau tối đa TTL.
+ *
+ * Cache nằm trong từng instance và việc patch / xóa entry chỉ áp dụng trên instance xử lý thao tác:
+ * khi chạy nhiều instance, các instance khác có thể trả dữ liệu cũ đến hết TTL.
+ */
+@Component
+public class PostResponseCache {
+
+    /**
+     * Giá trị cache (immutable), trạng thái like của người xem được gắn thêm khi build response
+     */
+    public record CachedPost(PostSummary post, long likeCount, long commentCount) {
+
+        CachedPost withCounts(long likeDelta, long commentDelta) {
+            return new CachedPost(post,
+                    Math.max(0, likeCount + likeDelta),
+                    Math.max(0, commentCount + commentDelta));
+        }
+    }
+
+    private final Cache<Long, CachedPost> cache;
+
+    public PostResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.post-cache.max-size:50000}") long maxSize,
+            @Value("${app.post-cache.ttl:60000}") long ttlInMs) {
+        Duration ttl = Duration.ofMillis(ttlInMs);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // TTL tính từ lúc nạp, không reset khi patch count
+                .expireAfter(Expiry.<Long, CachedPost>creating((postId, cached) -> ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post.response");
+    }
+
+    /**
+     * Lấy entry, nạp bằng loader khi chưa có (loader ném exception thì không cache gì)
+     */
+    public CachedPost get(Long postId, Function<Long, CachedPost> loader) {
+        return cache.get(postId, loader);
+    }
+
+    public void adjustCounts(Long postId, long likeDelta, long commentDelta) {
+        cache.asMap().computeIfPresent(postId, (id, cached) -> cached.withCounts(likeDelta, commentDelta));
+    }
+
+    public void evict(Long postId) {
+        cache.invalidate(postId);
+    }
+
+    /**
+     * Xóa mọi post của tác giả (đổi tên / avatar). Nếu đang trong transaction thì xóa thêm
+     * một lần sau commit để request song song không nạp lại profile cũ.
+     */
+    public void evictAuthor(Long userId) {
+        evictAuthorNow(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAuthorNow(userId);
+                }
+            });
+        }
+    }
+
+    private void evictAuthorNow(Long userId) {
+        cache.asMap().values().removeIf(cached -> userId.equals(cached.post().userId()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Cấu hình async executor và scheduling cho các tác vụ nền
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+@Slf4j
+public class AsyncConfig {
+
+    @Value("${app.notification.executor.core-size:2}")
+    private int notificationCoreSize;
+
+    @Value("${app.notification.executor.max-size:4}")
+    private int notificationMaxSize;
+
+    @Value("${app.notification.executor.queue-capacity:1000}")
+    private int notificationQueueCapacity;
+
+    @Value("${app.scheduling.pool-size:2}")
+    private int schedulingPoolSize;
+
+    @Value("${app.notification.purge.scheduler-pool-size:1}")
+    private int purgeSchedulingPoolSize;
+
+    /**
+     * Scheduler cho các job @Scheduled ngắn (flush notification, push unread count, dọn token).
+     * @EnableWebSocketMessageBroker đã đăng ký messageBrokerTaskScheduler nên Spring Boot không tự tạo
+     * scheduler (spring.task.scheduling.* không có tác dụng); thiếu bean tên taskScheduler thì
+     * các job chạy chung thread với STOMP heartbeat.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(schedulingPoolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
+    /**
+     * Scheduler riêng cho notification purge: mỗi lần chạy có thể nghỉ giữa hàng trăm batch,
+     * không được chiếm thread của taskScheduler
+     */
+    @Bean(name = "purgeScheduler")
+    public ThreadPoolTaskScheduler purgeScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(purgeSchedulingPoolSize);
+        scheduler.setThreadNamePrefix("notification-purge-");
+        return scheduler;
+    }
+
+    /**
+     * Executor giới hạn cho notification events
+     * Khi đầy thì bỏ event (notification không quan trọng bằng latency của request)
+     */
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(notificationCoreSize);
+        executor.setMaxPoolSize(notificationMaxSize);
+        executor.setQueueCapacity(notificationQueueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Notification executor saturated, dropping event"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
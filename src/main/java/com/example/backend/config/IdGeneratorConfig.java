@@ -0,0 +1,21 @@
+package com.example.backend.config;
+
+import com.example.backend.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Generator ID dùng chung cho entity (@SnowflakeId) và các insert bằng JDBC.
+ * Mỗi instance của ứng dụng phải có app.id.node-id khác nhau (0-15).
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${app.id.node-id:0}") int nodeId) {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(nodeId);
+        SnowflakeIdGenerator.setShared(generator);
+        return generator;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.backend.config;
+
+import com.example.backend.metrics.QueryCountFilter;
+import com.example.backend.metrics.QueryCountInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Đếm SQL statements theo request để phát hiện N+1
+ */
+@Configuration
+public class QueryCountConfig {
+
+    @Value("${app.query-count.expose-header:false}")
+    private boolean exposeHeader;
+
+    @Value("${app.query-count.warn-threshold:20}")
+    private int warnThreshold;
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry, exposeHeader, warnThreshold));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Giới hạn số giá trị tag destination (client có thể gửi destination tùy ý)
+     */
+    @Bean
+    public MeterFilter stompQueryCountCardinalityLimit() {
+        return MeterFilter.maximumAllowableTags("stomp.messages.queries", "destination", 50, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache (JCache, provider Caffeine trong bộ nhớ của từng instance)
+ *
+ * Mọi region được tạo sẵn ở đây với giới hạn kích thước + TTL; region chưa khai báo sẽ làm
+ * Hibernate báo lỗi lúc khởi động (missing_cache_strategy: fail) thay vì tự tạo cache không giới hạn.
+ * TTL giới hạn thời gian dữ liệu cũ tồn tại khi bảng bị sửa ngoài Hibernate (JDBC, FK cascade).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Region khai báo trong @Cache của entity User / Post và query hint của UserRepository.findByUsername
+    private static final String USERS_REGION = "users";
+    private static final String POSTS_REGION = "posts";
+    private static final String USER_BY_USERNAME_REGION = "user-by-username";
+
+    // Region mặc định của query cache và timestamps (Hibernate tạo khi bật use_query_cache)
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.entity-cache.users.max-size:100000}") long usersMaxSize,
+            @Value("${app.entity-cache.users.ttl:600000}") long usersTtlInMs,
+            @Value("${app.entity-cache.posts.max-size:100000}") long postsMaxSize,
+            @Value("${app.entity-cache.posts.ttl:600000}") long postsTtlInMs,
+            @Value("${app.entity-cache.queries.max-size:10000}") long queriesMaxSize,
+            @Value("${app.entity-cache.queries.ttl:300000}") long queriesTtlInMs) {
+        // Manager riêng cho application context này: manager mặc định dùng chung cả JVM, context thứ hai
+        // (ví dụ một cấu hình @SpringBootTest khác) sẽ lỗi "already exists" ở createCache bên dưới
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(USERS_REGION, region(usersMaxSize, usersTtlInMs));
+        cacheManager.createCache(POSTS_REGION, region(postsMaxSize, postsTtlInMs));
+        cacheManager.createCache(USER_BY_USERNAME_REGION, region(queriesMaxSize, queriesTtlInMs));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, region(queriesMaxSize, queriesTtlInMs));
+
+        // Timestamps mỗi bảng một entry, không được evict / hết hạn (query cache sẽ trả kết quả cũ)
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlInMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Giữ tham chiếu (Hibernate đã lưu entry dạng disassembled), không copy qua serialization
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofMillis(ttlInMs).toNanos()));
+        return configuration;
+    }
+}
@@ -2,10 +2,17 @@
 package com.example.backend.config;
 
 import com.example.backend.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -13,13 +20,25 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
+import com.example.backend.metrics.StompQueryCountInterceptor;
+import com.example.backend.ratelimit.StompRateLimitInterceptor;
 import com.example.backend.security.CustomUserDetailsService;
+import com.example.backend.security.StompSecurityContextInterceptor;
+import com.example.backend.websocket.CompactCborMessageConverter;
+import com.example.backend.websocket.StompSessionEncodingRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * WebSocket Configuration cho Real-time Messaging
@@ -27,10 +46,31 @@ import com.example.backend.security.CustomUserDetailsService;
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final StompSessionEncodingRegistry encodingRegistry;
+    private final CompactCborMessageConverter compactCborMessageConverter;
+    private final StompRateLimitInterceptor stompRateLimitInterceptor;
+    private final StompQueryCountInterceptor stompQueryCountInterceptor;
+    private final StompSecurityContextInterceptor stompSecurityContextInterceptor;
+
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.send-time-limit:10000}")
+    private int sendTimeLimit;
+
+    @Value("${app.websocket.container-buffer-size:65536}")
+    private int containerBufferSize;
+
+    @Value("${app.websocket.idle-timeout:300000}")
+    private long idleTimeout;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
@@ -50,6 +90,51 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
+
+        // Endpoint WebSocket thuần (không SockJS) cho native apps, không có framing SockJS
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(new HandshakeInterceptor() {
+                    @Override
+                    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                        // Chỉ session không qua SockJS mới gửi được binary frame (CBOR)
+                        attributes.put(StompSessionEncodingRegistry.BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+                        return true;
+                    }
+
+                    @Override
+                    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                               WebSocketHandler wsHandler, Exception exception) {
+                    }
+                });
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Giới hạn kích thước STOMP message và buffer gửi cho mỗi session
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimit);
+    }
+
+    /**
+     * Giới hạn của WebSocket container (Tomcat) cho mỗi connection
+     */
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(containerBufferSize);
+        container.setMaxBinaryMessageBufferSize(containerBufferSize);
+        container.setMaxSessionIdleTimeout(idleTimeout);
+        return container;
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // CBOR chỉ áp dụng cho frame có content-type application/octet-stream, giữ các converter mặc định
+        messageConverters.add(compactCborMessageConverter);
+        return true;
     }
 
     @Override
@@ -60,6 +145,16 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
                 
                 if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    // Negotiate payload encoding cho session
+                    Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+                    encodingRegistry.register(
+                            accessor.getSessionId(),
+                            accessor.getFirstNativeHeader(StompSessionEncodingRegistry.ENCODING_HEADER),
+                            accessor.getFirstNativeHeader(StompSessionEncodingRegistry.SENDER_CACHE_HEADER),
+                            sessionAttributes != null
+                                    && Boolean.TRUE.equals(sessionAttributes.get(StompSessionEncodingRegistry.BINARY_FRAMES_ATTRIBUTE))
+                    );
+
                     // Lấy JWT token từ header
                     String authToken = accessor.getFirstNativeHeader("Authorization");
                     
@@ -67,23 +162,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                         String token = authToken.substring(7);
                         
                         // Validate token
-                        if (jwtTokenProvider.validateToken(token)) {
-                            Long userId = jwtTokenProvider.getUserIdFromJWT(token);
+                        Optional<Claims> claims = jwtTokenProvider.verify(token);
+                        if (claims.isPresent()) {
+                            Long userId = jwtTokenProvider.getUserId(claims.get());
                             UserDetails userDetails = customUserDetailsService.loadUserById(userId);
                             
                             UsernamePasswordAuthenticationToken authentication = 
                                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                             
-                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                            // Chỉ gắn vào session; SecurityContext theo từng frame do StompSecurityContextInterceptor
                             accessor.setUser(authentication);
                             
-                            System.out.println("✅ WebSocket authenticated for user: " + userDetails.getUsername());
+                            log.debug("event=ws.authenticated user={} session={}",
+                                    userDetails.getUsername(), accessor.getSessionId());
                         }
                     }
                 }
                 
                 return message;
             }
-        });
+        }, stompSecurityContextInterceptor, stompRateLimitInterceptor, stompQueryCountInterceptor);
     }
 }
\ No newline at end of file
@@ -2,9 +2,13 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.request.LoginRequest;
+import com.example.backend.dto.request.RefreshTokenRequest;
 import com.example.backend.dto.request.RegisterRequest;
 import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.response.JwtResponse;
+import com.example.backend.exception.TooManyRequestsException;
+import com.example.backend.ratelimit.RateLimitPolicy;
+import com.example.backend.ratelimit.RateLimited;
 import com.example.backend.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,25 +23,57 @@ public class AuthController {
     
     private final AuthService authService;
     
+    @RateLimited(RateLimitPolicy.AUTH)
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
         try {
             JwtResponse response = authService.login(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(ApiResponse.error("Invalid username or password"));
         }
     }
     
+    @RateLimited(RateLimitPolicy.AUTH)
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
         try {
             JwtResponse response = authService.register(registerRequest);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.error(e.getMessage()));
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Đổi refresh token lấy cặp token mới (refresh token cũ bị vô hiệu)
+     * POST /api/auth/refresh
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return ResponseEntity.ok(authService.refresh(refreshTokenRequest));
+    }
+    
+    /**
+     * Đăng xuất: thu hồi refresh token và access token hiện tại
+     * POST /api/auth/logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @Valid @RequestBody RefreshTokenRequest refreshTokenRequest,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(refreshTokenRequest.getRefreshToken(), accessToken);
+        
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully"));
+    }
+}
@@ -3,6 +3,8 @@ package com.example.backend.controller;
 import com.example.backend.dto.request.CommentRequest;
 import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.response.CommentResponse;
+import com.example.backend.ratelimit.RateLimitPolicy;
+import com.example.backend.ratelimit.RateLimited;
 import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.CommentService;
 import jakarta.validation.Valid;
@@ -22,6 +24,7 @@ public class CommentController {
     
     private final CommentService commentService;
     
+    @RateLimited(RateLimitPolicy.WRITE)
     @PostMapping("/posts/{postId}/comments")
     public ResponseEntity<ApiResponse<CommentResponse>> createComment(
             @PathVariable Long postId,
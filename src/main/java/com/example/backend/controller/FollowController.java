@@ -5,6 +5,8 @@ import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.response.FollowResponse;
 import com.example.backend.dto.response.FollowStatsResponse;
 import com.example.backend.dto.response.PageResponse;
+import com.example.backend.ratelimit.RateLimitPolicy;
+import com.example.backend.ratelimit.RateLimited;
 import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.FollowService;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,7 @@ public class FollowController {
      * Follow một user
      * POST /api/users/{userId}/follow
      */
+    @RateLimited(RateLimitPolicy.WRITE)
     @PostMapping("/{userId}/follow")
     public ResponseEntity<ApiResponse> followUser(
             @PathVariable Long userId,
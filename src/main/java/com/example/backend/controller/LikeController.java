@@ -1,6 +1,8 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.ratelimit.RateLimitPolicy;
+import com.example.backend.ratelimit.RateLimited;
 import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.LikeService;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,7 @@ public class LikeController {
     
     private final LikeService likeService;
     
+    @RateLimited(RateLimitPolicy.WRITE)
     @PostMapping
     public ResponseEntity<ApiResponse<Void>> likePost(
             @PathVariable Long postId,
@@ -6,6 +6,8 @@ import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.response.ConversationResponse;
 import com.example.backend.dto.response.MessageResponse;
 import com.example.backend.dto.response.PageResponse;
+import com.example.backend.ratelimit.RateLimitPolicy;
+import com.example.backend.ratelimit.RateLimited;
 import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.MessageService;
 import jakarta.validation.Valid;
@@ -29,6 +31,7 @@ public class MessageController {
      * Gửi tin nhắn
      * POST /api/messages
      */
+    @RateLimited(RateLimitPolicy.MESSAGE_SEND)
     @PostMapping
     public ResponseEntity<ApiResponse> sendMessage(
             @Valid @RequestBody MessageRequest messageRequest,
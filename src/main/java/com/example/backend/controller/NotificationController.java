@@ -1 +1,114 @@
 
+package com.example.backend.controller;
+
+import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.dto.response.NotificationResponse;
+import com.example.backend.dto.response.PageResponse;
+import com.example.backend.dto.response.UnreadCountResponse;
+import com.example.backend.security.UserPrincipal;
+import com.example.backend.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller xử lý notifications
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    /**
+     * Lấy danh sách notifications
+     * GET /api/notifications?page=0&size=20
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse> getNotifications(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        Page<NotificationResponse> notifications = notificationService.getNotifications(
+                currentUser.getId(),
+                page,
+                size
+        );
+
+        PageResponse<NotificationResponse> pageResponse = PageResponse.<NotificationResponse>builder()
+                .content(notifications.getContent())
+                .pageNumber(notifications.getNumber())
+                .pageSize(notifications.getSize())
+                .totalElements(notifications.getTotalElements())
+                .totalPages(notifications.getTotalPages())
+                .last(notifications.isLast())
+                .build();
+
+        return ResponseEntity.ok(
+                ApiResponse.builder()
+                        .success(true)
+                        .message("Notifications retrieved successfully")
+                        .data(pageResponse)
+                        .build()
+        );
+    }
+
+    /**
+     * Lấy số notifications chưa đọc (badge)
+     * GET /api/notifications/unread-count
+     * Client đang kết nối WebSocket nhận cập nhật qua /user/queue/notifications
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse> getUnreadCount(@AuthenticationPrincipal UserPrincipal currentUser) {
+
+        long unreadCount = notificationService.getUnreadCount(currentUser.getId());
+
+        return ResponseEntity.ok(
+                ApiResponse.builder()
+                        .success(true)
+                        .message("Unread count retrieved successfully")
+                        .data(new UnreadCountResponse(unreadCount))
+                        .build()
+        );
+    }
+
+    /**
+     * Đánh dấu một notification đã đọc
+     * PUT /api/notifications/{notificationId}/read
+     */
+    @PutMapping("/{notificationId}/read")
+    public ResponseEntity<ApiResponse> markAsRead(
+            @PathVariable Long notificationId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        notificationService.markAsRead(notificationId, currentUser.getId());
+
+        return ResponseEntity.ok(
+                ApiResponse.builder()
+                        .success(true)
+                        .message("Notification marked as read")
+                        .build()
+        );
+    }
+
+    /**
+     * Đánh dấu tất cả notifications đã đọc
+     * PUT /api/notifications/read-all
+     */
+    @PutMapping("/read-all")
+    public ResponseEntity<ApiResponse> markAllAsRead(@AuthenticationPrincipal UserPrincipal currentUser) {
+
+        notificationService.markAllAsRead(currentUser.getId());
+
+        return ResponseEntity.ok(
+                ApiResponse.builder()
+                        .success(true)
+                        .message("All notifications marked as read")
+                        .build()
+        );
+    }
+}
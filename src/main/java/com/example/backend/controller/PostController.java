@@ -4,6 +4,8 @@ import com.example.backend.dto.request.PostCreateRequest;
 import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.response.PageResponse;
 import com.example.backend.dto.response.PostResponse;
+import com.example.backend.ratelimit.RateLimitPolicy;
+import com.example.backend.ratelimit.RateLimited;
 import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.PostService;
 import jakarta.validation.Valid;
@@ -29,6 +31,7 @@ public class PostController {
      * Tạo bài post mới
      * POST /api/posts
      */
+    @RateLimited(RateLimitPolicy.WRITE)
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<PostResponse>> createPost(
             @RequestParam("image") MultipartFile image,
@@ -0,0 +1,9 @@
+package com.example.backend.datasource;
+
+/**
+ * Đích của ReadWriteRoutingDataSource
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
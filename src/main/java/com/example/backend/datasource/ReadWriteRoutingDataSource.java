@@ -0,0 +1,62 @@
+package com.example.backend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Chọn primary / replica theo transaction hiện tại:
+ * - @Transactional(readOnly = true) -> replica, trừ khi user vừa ghi (read-your-writes)
+ * - transaction ghi và code ngoài transaction -> primary
+ * - read-only transaction bắt đầu trong readFromPrimary -> primary (dữ liệu sẽ được cache)
+ *
+ * Phải bọc trong LazyConnectionDataSourceProxy: transaction manager lấy connection ngay khi
+ * begin, trước khi trạng thái readOnly được gắn vào thread; proxy hoãn việc chọn đến statement đầu tiên.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Chạy action với các read-only transaction đọc từ primary, không ghi nhận là user vừa ghi.
+     * Connection chỉ được chọn ở statement đầu tiên của transaction, nên action phải mở transaction mới
+     * (REQUIRES_NEW) nếu transaction bên ngoài có thể đã lấy connection replica.
+     */
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWritesTracker.recordWrite();
+            return DataSourceRoute.PRIMARY;
+        }
+        if (PRIMARY_READS.get() != null) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return readYourWritesTracker.mustReadFromPrimary() ? DataSourceRoute.PRIMARY : DataSourceRoute.REPLICA;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.backend.datasource;
+
+import com.example.backend.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Ghi nhớ user vừa ghi dữ liệu trong một khoảng thời gian (>= độ trễ replication)
+ * để các read-only transaction của user đó đọc từ primary, không thấy dữ liệu cũ trên replica
+ *
+ * User lấy từ SecurityContext của thread hiện tại (HTTP: JwtAuthenticationFilter, STOMP: StompSecurityContextInterceptor);
+ * không có user (job nền, login) thì không ghi nhớ.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean mustReadFromPrimary() {
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        return null;
+    }
+}
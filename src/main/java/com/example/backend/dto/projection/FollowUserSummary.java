@@ -0,0 +1,12 @@
+package com.example.backend.dto.projection;
+
+/**
+ * Projection cho list followers / following: chỉ các cột public của user
+ */
+public record FollowUserSummary(
+        Long userId,
+        String username,
+        String fullName,
+        String avatarUrl
+) {
+}
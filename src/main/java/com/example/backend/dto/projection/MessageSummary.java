@@ -0,0 +1,18 @@
+package com.example.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection cho list tin nhắn: các cột MessageResponse cần, kèm username / avatar người gửi
+ */
+public record MessageSummary(
+        Long id,
+        Long conversationId,
+        Long senderId,
+        String senderUsername,
+        String senderAvatarUrl,
+        String content,
+        String messageType,
+        LocalDateTime createdAt
+) {
+}
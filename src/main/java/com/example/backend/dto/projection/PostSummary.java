@@ -0,0 +1,19 @@
+package com.example.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection cho list post: chỉ các cột PostResponse cần, kèm thông tin tác giả (không load entity)
+ */
+public record PostSummary(
+        Long id,
+        Long userId,
+        String username,
+        String userFullName,
+        String userAvatarUrl,
+        String caption,
+        String imageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
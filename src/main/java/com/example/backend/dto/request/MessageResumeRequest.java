@@ -0,0 +1,25 @@
+
+package com.example.backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Request DTO để resume tin nhắn sau khi reconnect WebSocket
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageResumeRequest {
+
+    @NotNull(message = "Conversation ID is required")
+    private Long conversationId;
+
+    private Long epoch;          // sequenceEpoch của tin nhắn cuối cùng client đã nhận
+
+    private long lastSequence;   // Sequence cuối cùng client đã nhận
+
+    private Long lastMessageId;  // ID tin nhắn cuối cùng client đã nhận (dùng khi fallback DB)
+}
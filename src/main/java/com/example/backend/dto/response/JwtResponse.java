@@ -11,14 +11,19 @@ import lombok.NoArgsConstructor;
 public class JwtResponse {
     
     private String accessToken;
+    private String refreshToken;
     private String tokenType = "Bearer";
+    private Long expiresIn;      // Thời hạn access token (giây)
     private Long id;
     private String username;
     private String email;
     private String fullName;
     
-    public JwtResponse(String accessToken, Long id, String username, String email, String fullName) {
+    public JwtResponse(String accessToken, String refreshToken, Long expiresIn,
+                       Long id, String username, String email, String fullName) {
         this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
         this.id = id;
         this.username = username;
         this.email = email;
@@ -21,4 +21,6 @@ public class MessageResponse {
     private String content;
     private String messageType;
     private LocalDateTime createdAt;
+    private Long sequence;       // Sequence trong conversation, chỉ có khi push qua WebSocket
+    private Long sequenceEpoch;  // Epoch của sequence counter, client gửi lại khi resume
 }
\ No newline at end of file
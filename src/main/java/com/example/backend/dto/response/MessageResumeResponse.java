@@ -0,0 +1,23 @@
+package com.example.backend.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response DTO cho resume tin nhắn sau khi reconnect
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageResumeResponse {
+    private Long conversationId;
+    private Long epoch;                    // Epoch hiện tại của sequence counter
+    private long currentSequence;          // Sequence mới nhất của conversation
+    private boolean resyncRequired;        // Cursor thuộc epoch cũ, client phải tải lại qua REST
+    private boolean fromBuffer;            // true: replay từ buffer, false: lấy từ DB
+    private boolean hasMore;               // Còn tin nhắn cũ hơn chưa trả về, client cần gọi REST
+    private List<MessageResponse> messages;
+}
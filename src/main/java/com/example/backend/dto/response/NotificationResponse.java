@@ -1 +1,29 @@
 
+package com.example.backend.dto.response;
+
+import com.example.backend.entity.NotificationType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO cho Notification
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationResponse {
+    private Long id;
+    private NotificationType type;
+    private Long senderId;
+    private String senderUsername;
+    private String senderAvatarUrl;
+    private Long postId;
+    private Integer actorCount;          // "X và actorCount - 1 người khác"
+    private List<Long> latestActorIds;   // Mới nhất trước
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+}
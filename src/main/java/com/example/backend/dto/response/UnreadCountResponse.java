@@ -0,0 +1,15 @@
+package com.example.backend.dto.response;
+
+import lombok.*;
+
+/**
+ * Số notifications chưa đọc (REST + push qua /user/queue/notifications)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCountResponse {
+    private Long unreadCount;
+}
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 public class Comment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     
     @Column(name = "user_id", nullable = false)
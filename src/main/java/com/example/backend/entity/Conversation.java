@@ -30,9 +30,8 @@ public class Conversation {
     @Builder.Default
     private Set<ConversationParticipant> participants = new HashSet<>();
 
-    @OneToMany(mappedBy = "conversation", cascade = CascadeType.ALL, orphanRemoval = true)
-    @Builder.Default
-    private Set<Message> messages = new HashSet<>();
+    // Không map collection messages: lịch sử chat không giới hạn, chỉ truy cập qua MessageRepository
+    // với query có phân trang. Xóa conversation thì DB tự xóa messages (FK ON DELETE CASCADE)
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
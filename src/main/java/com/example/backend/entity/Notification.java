@@ -1 +1,62 @@
 
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity đại diện cho notification của user
+ * Các hành động cùng (recipient, type, post, time bucket) được gộp vào một row
+ * Được ghi theo batch bằng JDBC (NotificationJdbcRepository), JPA chỉ dùng để đọc / cập nhật
+ */
+@Entity
+@Table(name = "notifications")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Notification {
+
+    public static final int MAX_LATEST_ACTORS = 5;
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId; // User nhận notification
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;    // User gây ra hành động
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sender_id", insertable = false, updatable = false)
+    private User sender;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private NotificationType type;
+
+    @Column(name = "post_id")
+    private Long postId;      // NULL với NEW_FOLLOWER
+
+    @Column(name = "actor_count", nullable = false)
+    @Builder.Default
+    private Integer actorCount = 1;      // Số actor khác nhau được gộp vào notification
+
+    @Column(name = "latest_actor_ids")
+    private String latestActorIds;       // IDs các actor gần nhất, mới nhất trước, phân cách bởi dấu phẩy
+
+    @Column(name = "bucket_key", nullable = false, length = 64)
+    private String bucketKey;            // type:postId:bucket, unique theo recipient
+
+    @Column(name = "is_read", nullable = false)
+    @Builder.Default
+    private Boolean isRead = false;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;     // Thời điểm hành động gần nhất trong bucket
+}
@@ -0,0 +1,10 @@
+package com.example.backend.entity;
+
+/**
+ * Loại notification, khớp với ENUM của cột notifications.type
+ */
+public enum NotificationType {
+    LIKE_POST,
+    COMMENT_ON_POST,
+    NEW_FOLLOWER
+}
@@ -0,0 +1,18 @@
+package com.example.backend.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gán ID tăng theo thời gian (SnowflakeIdGenerator) trước khi INSERT,
+ * thay cho IDENTITY để Hibernate gom được các INSERT thành JDBC batch
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
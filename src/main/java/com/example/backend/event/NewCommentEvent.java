@@ -1 +1,24 @@
 
+package com.example.backend.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event được publish khi có comment mới trên bài post
+ * Dùng để tạo notification cho chủ bài post
+ */
+@Getter
+public class NewCommentEvent extends ApplicationEvent {
+
+    private final Long commentId;
+    private final Long userId; // User comment
+    private final Long postId;
+
+    public NewCommentEvent(Object source, Long commentId, Long userId, Long postId) {
+        super(source);
+        this.commentId = commentId;
+        this.userId = userId;
+        this.postId = postId;
+    }
+}
@@ -1 +1,22 @@
 
+package com.example.backend.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event được publish khi user like một bài post
+ * Dùng để tạo notification cho chủ bài post
+ */
+@Getter
+public class NewLikeEvent extends ApplicationEvent {
+
+    private final Long userId; // User like bài post
+    private final Long postId;
+
+    public NewLikeEvent(Object source, Long userId, Long postId) {
+        super(source);
+        this.userId = userId;
+        this.postId = postId;
+    }
+}
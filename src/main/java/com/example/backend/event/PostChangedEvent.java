@@ -0,0 +1,30 @@
+package com.example.backend.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event được publish khi dữ liệu hiển thị của một bài post thay đổi
+ * Dùng để cập nhật / xóa PostResponseCache sau khi transaction commit
+ */
+@Getter
+public class PostChangedEvent extends ApplicationEvent {
+
+    public enum Type {
+        LIKE_ADDED,
+        LIKE_REMOVED,
+        COMMENT_ADDED,
+        COMMENT_REMOVED,
+        CAPTION_UPDATED,
+        DELETED
+    }
+
+    private final Long postId;
+    private final Type type;
+
+    public PostChangedEvent(Object source, Long postId, Type type) {
+        super(source);
+        this.postId = postId;
+        this.type = type;
+    }
+}
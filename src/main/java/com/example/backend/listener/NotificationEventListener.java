@@ -1 +1,60 @@
 
+package com.example.backend.listener;
+
+import com.example.backend.entity.NotificationType;
+import com.example.backend.event.NewCommentEvent;
+import com.example.backend.event.NewFollowerEvent;
+import com.example.backend.event.NewLikeEvent;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener tạo notification từ các events
+ * Chạy sau khi transaction commit, trên notificationExecutor (không chặn request)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationEventListener {
+
+    private final NotificationService notificationService;
+    private final PostRepository postRepository;
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleNewFollower(NewFollowerEvent event) {
+        notificationService.enqueue(
+                event.getFollowingId(),
+                event.getFollowerId(),
+                NotificationType.NEW_FOLLOWER,
+                null
+        );
+    }
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleNewLike(NewLikeEvent event) {
+        notifyPostOwner(event.getPostId(), event.getUserId(), NotificationType.LIKE_POST);
+    }
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleNewComment(NewCommentEvent event) {
+        notifyPostOwner(event.getPostId(), event.getUserId(), NotificationType.COMMENT_ON_POST);
+    }
+
+    /**
+     * Helper: gửi notification cho chủ bài post (bỏ qua khi tự tương tác với post của mình)
+     */
+    private void notifyPostOwner(Long postId, Long actorId, NotificationType type) {
+        postRepository.findOwnerIdById(postId)
+                .filter(ownerId -> !ownerId.equals(actorId))
+                .ifPresent(ownerId -> notificationService.enqueue(ownerId, actorId, type, postId));
+    }
+}
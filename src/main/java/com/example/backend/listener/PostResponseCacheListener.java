@@ -0,0 +1,31 @@
+package com.example.backend.listener;
+
+import com.example.backend.cache.PostResponseCache;
+import com.example.backend.event.PostChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cập nhật PostResponseCache sau khi transaction commit
+ * Chạy đồng bộ trên thread của request để người vừa thao tác đọc lại thấy ngay
+ */
+@Component
+@RequiredArgsConstructor
+public class PostResponseCacheListener {
+
+    private final PostResponseCache postResponseCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handlePostChanged(PostChangedEvent event) {
+        Long postId = event.getPostId();
+        switch (event.getType()) {
+            case LIKE_ADDED -> postResponseCache.adjustCounts(postId, 1, 0);
+            case LIKE_REMOVED -> postResponseCache.adjustCounts(postId, -1, 0);
+            case COMMENT_ADDED -> postResponseCache.adjustCounts(postId, 0, 1);
+            case COMMENT_REMOVED -> postResponseCache.adjustCounts(postId, 0, -1);
+            case CAPTION_UPDATED, DELETED -> postResponseCache.evict(postId);
+        }
+    }
+}
@@ -1 +1,38 @@
 
+package com.example.backend.mapper;
+
+import com.example.backend.dto.response.NotificationResponse;
+import com.example.backend.entity.Notification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+public class NotificationMapper {
+
+    public NotificationResponse toResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .type(notification.getType())
+                .senderId(notification.getSenderId())
+                .senderUsername(notification.getSender().getUsername())
+                .senderAvatarUrl(notification.getSender().getAvatarUrl())
+                .postId(notification.getPostId())
+                .actorCount(notification.getActorCount())
+                .latestActorIds(parseActorIds(notification.getLatestActorIds()))
+                .isRead(notification.getIsRead())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+
+    private List<Long> parseActorIds(String actorIds) {
+        if (!StringUtils.hasText(actorIds)) {
+            return List.of();
+        }
+        return Arrays.stream(actorIds.split(","))
+                .map(Long::valueOf)
+                .toList();
+    }
+}
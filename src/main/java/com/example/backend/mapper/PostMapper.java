@@ -1,6 +1,7 @@
 
 package com.example.backend.mapper;
 
+import com.example.backend.dto.projection.PostSummary;
 import com.example.backend.dto.response.PostResponse;
 import com.example.backend.entity.Post;
 import org.springframework.stereotype.Component;
@@ -25,6 +26,23 @@ public class PostMapper {
                 .build();
     }
     
+    public PostResponse toResponse(PostSummary post, Long likeCount, Long commentCount, Boolean isLikedByCurrentUser) {
+        return PostResponse.builder()
+                .id(post.id())
+                .userId(post.userId())
+                .username(post.username())
+                .userFullName(post.userFullName())
+                .userAvatarUrl(post.userAvatarUrl())
+                .caption(post.caption())
+                .imageUrl(post.imageUrl())
+                .likeCount(likeCount)
+                .commentCount(commentCount)
+                .isLikedByCurrentUser(isLikedByCurrentUser)
+                .createdAt(post.createdAt())
+                .updatedAt(post.updatedAt())
+                .build();
+    }
+    
     public PostResponse toResponse(Post post) {
         return toResponse(post, 0L, 0L, false);
     }
@@ -0,0 +1,80 @@
+package com.example.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Timers cho các hot path (feed, chat, JWT, upload), đăng ký một lần và dùng lại
+ * Tất cả đều publish percentile histogram để tính p95/p99 trên Prometheus.
+ */
+@Component
+public class HotPathMetrics {
+
+    private final Timer feedBuild;
+    private final Timer postHydration;
+    private final Timer messageSend;
+    private final Timer conversationList;
+    private final Timer jwtVerifyCacheHit;
+    private final Timer jwtVerifyCacheMiss;
+    private final Timer fileUpload;
+
+    public HotPathMetrics(MeterRegistry meterRegistry) {
+        this.feedBuild = timer(meterRegistry, "posts.feed.build", "Time to build one feed page");
+        this.postHydration = timer(meterRegistry, "posts.hydration",
+                "Time to attach counts and like status to a single post");
+        this.messageSend = timer(meterRegistry, "messages.send", "Time to persist a chat message");
+        this.conversationList = timer(meterRegistry, "messages.conversations.list",
+                "Time to load one page of conversations");
+        this.jwtVerifyCacheHit = Timer.builder("jwt.verify")
+                .description("JWT verification time")
+                .tag("cache", "hit")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+        this.jwtVerifyCacheMiss = Timer.builder("jwt.verify")
+                .description("JWT verification time")
+                .tag("cache", "miss")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+        this.fileUpload = timer(meterRegistry, "files.upload", "Time to validate and store an uploaded file");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    public Timer feedBuild() {
+        return feedBuild;
+    }
+
+    public Timer postHydration() {
+        return postHydration;
+    }
+
+    public Timer messageSend() {
+        return messageSend;
+    }
+
+    public Timer conversationList() {
+        return conversationList;
+    }
+
+    public Timer jwtVerify(boolean cacheHit) {
+        return cacheHit ? jwtVerifyCacheHit : jwtVerifyCacheMiss;
+    }
+
+    public Timer fileUpload() {
+        return fileUpload;
+    }
+}
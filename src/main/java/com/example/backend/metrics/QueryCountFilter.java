@@ -0,0 +1,89 @@
+package com.example.backend.metrics;
+
+import com.example.backend.util.LogSampler;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Đếm SQL statements của mỗi HTTP request
+ *
+ * - Ghi histogram http.server.requests.queries theo endpoint (URI pattern)
+ * - Cảnh báo (có sampling) khi vượt ngưỡng, thường là dấu hiệu N+1
+ * - Khi bật expose-header (dev), thêm header X-Query-Count vào response;
+ *   body được buffer để header vẫn gửi được sau khi handler đã ghi body
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private static final LogSampler WARN_SAMPLER = new LogSampler(Duration.ofSeconds(10));
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeader;
+    private final int warnThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, boolean exposeHeader, int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeader = exposeHeader;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = exposeHeader ? new ContentCachingResponseWrapper(response) : null;
+
+        QueryCounter.start();
+        int count;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            count = QueryCounter.stop();
+        }
+
+        String uri = endpoint(request);
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count);
+
+        if (count > warnThreshold) {
+            long skipped = WARN_SAMPLER.sample();
+            if (skipped >= 0) {
+                log.warn("event=query.budget.exceeded method={} uri={} queries={} threshold={} skipped={}",
+                        request.getMethod(), uri, count, warnThreshold, skipped);
+            }
+        }
+
+        if (wrapper != null) {
+            wrapper.setHeader(HEADER, String.valueOf(count));
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector: báo cho QueryCounter mỗi khi một SQL statement được chuẩn bị
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đếm số SQL statement trên thread hiện tại trong phạm vi một HTTP request / STOMP message
+ * (chỉ đếm statement đi qua Hibernate, JdbcTemplate không được tính)
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+    // Chỉ có giá trị trong record(), dùng ở test để lấy SQL thật do Hibernate sinh ra
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    public static boolean isActive() {
+        return COUNTER.get() != null;
+    }
+
+    public static int current() {
+        int[] counter = COUNTER.get();
+        return counter != null ? counter[0] : 0;
+    }
+
+    /**
+     * Kết thúc phạm vi đếm
+     * @return số statement đã chạy kể từ start()
+     */
+    public static int stop() {
+        int count = current();
+        COUNTER.remove();
+        return count;
+    }
+
+    /**
+     * Chạy action và trả về các SQL statements Hibernate đã chuẩn bị trên thread hiện tại
+     */
+    public static List<String> record(Runnable action) {
+        List<String> previous = STATEMENTS.get();
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            action.run();
+            return statements;
+        } finally {
+            if (previous != null) {
+                STATEMENTS.set(previous);
+            } else {
+                STATEMENTS.remove();
+            }
+        }
+    }
+
+    static void increment(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Đếm SQL statements khi xử lý mỗi STOMP SEND frame trên inbound channel
+ * Ghi histogram stomp.messages.queries theo destination.
+ */
+@Component
+public class StompQueryCountInterceptor implements ExecutorChannelInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public StompQueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (isApplicationMessage(message, handler)) {
+            QueryCounter.start();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        if (!isApplicationMessage(message, handler)) {
+            return;
+        }
+        int count = QueryCounter.stop();
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        DistributionSummary.builder("stomp.messages.queries")
+                .description("SQL statements executed per inbound STOMP message")
+                .tag("destination", destination != null ? destination : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    /**
+     * Inbound channel có nhiều subscriber (broker, user destination...),
+     * chỉ đếm khi frame được xử lý bởi các @MessageMapping handler
+     */
+    private boolean isApplicationMessage(Message<?> message, MessageHandler handler) {
+        return handler instanceof SimpAnnotationMethodMessageHandler
+                && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * Các policy rate limit (giá trị mặc định, có thể override qua app.rate-limit.{key}.*)
+ */
+@Getter
+public enum RateLimitPolicy {
+
+    // Login / register: BCrypt tốn CPU, giới hạn theo IP
+    AUTH("auth", 10, 10),
+
+    // Gửi tin nhắn qua REST hoặc STOMP (dùng chung bucket)
+    MESSAGE_SEND("message-send", 30, 120),
+
+    // Các thao tác ghi khác: tạo post, comment, like, follow, upload
+    WRITE("write", 20, 60);
+
+    private final String key;
+    private final int capacity;            // Số request burst tối đa
+    private final int refillPerMinute;     // Tốc độ nạp lại token
+
+    RateLimitPolicy(String key, int capacity, int refillPerMinute) {
+        this.key = key;
+        this.capacity = capacity;
+        this.refillPerMinute = refillPerMinute;
+    }
+}
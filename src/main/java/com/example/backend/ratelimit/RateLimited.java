@@ -0,0 +1,17 @@
+package com.example.backend.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Áp dụng rate limit cho HTTP handler hoặc STOMP @MessageMapping handler
+ * Key là user ID nếu đã đăng nhập, ngược lại là IP (HTTP) / session ID (STOMP)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    RateLimitPolicy value();
+}
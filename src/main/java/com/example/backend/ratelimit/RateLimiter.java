@@ -0,0 +1,77 @@
+package com.example.backend.ratelimit;
+
+import com.example.backend.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter in-process theo (policy, user ID / IP)
+ *
+ * Bucket được giữ trong map giới hạn kích thước; bucket không dùng sẽ bị evict,
+ * lúc đó bucket mới bắt đầu đầy - tương đương bucket cũ đã được nạp lại.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<RateLimitPolicy, int[]> limits = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Counter> rejections = new EnumMap<>(RateLimitPolicy.class);
+
+    public RateLimiter(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+            @Value("${app.rate-limit.idle-timeout:600000}") long idleTimeoutInMs) {
+        this.enabled = enabled;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMillis(idleTimeoutInMs))
+                .build();
+
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            String prefix = "app.rate-limit." + policy.getKey();
+            limits.put(policy, new int[] {
+                    environment.getProperty(prefix + ".capacity", Integer.class, policy.getCapacity()),
+                    environment.getProperty(prefix + ".refill-per-minute", Integer.class, policy.getRefillPerMinute())
+            });
+            rejections.put(policy, Counter.builder("ratelimit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("policy", policy.getKey())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Lấy một token cho client theo policy
+     * @throws TooManyRequestsException nếu bucket đã hết token
+     */
+    public void acquire(RateLimitPolicy policy, String clientKey) {
+        if (!enabled) {
+            return;
+        }
+
+        TokenBucket bucket = buckets.get(policy.getKey() + ":" + clientKey, key -> {
+            int[] limit = limits.get(policy);
+            return new TokenBucket(limit[0], limit[1]);
+        });
+
+        long waitNanos = bucket.tryConsume();
+        if (waitNanos > 0) {
+            rejections.get(policy).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            throw new TooManyRequestsException("Too many requests, please retry later", retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.backend.ratelimit;
+
+import com.example.backend.security.UserPrincipal;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.handler.HandlerMethod;
+import org.springframework.messaging.simp.SimpMessageMappingInfo;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Áp dụng @RateLimited cho STOMP @MessageMapping handlers
+ *
+ * Exception ném ra từ inbound channel được chuyển thành STOMP ERROR frame gửi về client.
+ */
+@Component
+public class StompRateLimitInterceptor implements ChannelInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectProvider<SimpAnnotationMethodMessageHandler> handlerProvider;
+
+    // Destination pattern (không có prefix /app) -> policy, build một lần từ handler methods
+    private volatile Map<String, RateLimitPolicy> policies;
+
+    public StompRateLimitInterceptor(RateLimiter rateLimiter,
+                                     ObjectProvider<SimpAnnotationMethodMessageHandler> handlerProvider) {
+        this.rateLimiter = rateLimiter;
+        this.handlerProvider = handlerProvider;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.SEND.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return message;
+        }
+
+        SimpAnnotationMethodMessageHandler handler = handlerProvider.getObject();
+        RateLimitPolicy policy = null;
+        for (String prefix : handler.getDestinationPrefixes()) {
+            if (destination.startsWith(prefix)) {
+                policy = getPolicies(handler).get(destination.substring(prefix.length()));
+                break;
+            }
+        }
+        if (policy != null) {
+            rateLimiter.acquire(policy, clientKey(accessor));
+        }
+        return message;
+    }
+
+    private String clientKey(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return "user:" + userPrincipal.getId();
+        }
+        return "session:" + accessor.getSessionId();
+    }
+
+    private Map<String, RateLimitPolicy> getPolicies(SimpAnnotationMethodMessageHandler handler) {
+        Map<String, RateLimitPolicy> result = policies;
+        if (result == null) {
+            result = buildPolicies(handler);
+            policies = result;
+        }
+        return result;
+    }
+
+    private Map<String, RateLimitPolicy> buildPolicies(SimpAnnotationMethodMessageHandler handler) {
+        Map<String, RateLimitPolicy> result = new HashMap<>();
+        for (Map.Entry<SimpMessageMappingInfo, HandlerMethod> entry : handler.getHandlerMethods().entrySet()) {
+            RateLimited rateLimited = entry.getValue().getMethodAnnotation(RateLimited.class);
+            if (rateLimited == null) {
+                continue;
+            }
+            for (String pattern : entry.getKey().getDestinationConditions().getPatterns()) {
+                result.put(pattern, rateLimited.value());
+            }
+        }
+        return result;
+    }
+}
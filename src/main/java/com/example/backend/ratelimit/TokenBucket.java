@@ -0,0 +1,42 @@
+package com.example.backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket lock-free: trạng thái (tokens, thời điểm refill) được thay thế bằng CAS
+ */
+public class TokenBucket {
+
+    private record State(double tokens, long timestampNanos) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(int capacity, int refillPerMinute) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+    /**
+     * Lấy một token
+     * @return 0 nếu thành công, ngược lại là số nanoseconds cần chờ đến khi có token
+     */
+    public long tryConsume() {
+        while (true) {
+            State current = state.get();
+            long now = System.nanoTime();
+            double available = Math.min(capacity,
+                    current.tokens() + Math.max(0, now - current.timestampNanos()) * tokensPerNano);
+
+            if (available < 1) {
+                return (long) Math.ceil((1 - available) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(available - 1, now))) {
+                return 0;
+            }
+        }
+    }
+}
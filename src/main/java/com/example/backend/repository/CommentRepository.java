@@ -3,6 +3,7 @@ package com.example.backend.repository;
 import com.example.backend.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,6 +11,8 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     
+    // Kèm user của mỗi comment, tránh một query cho mỗi comment khi map
+    @EntityGraph(attributePaths = "user")
     Page<Comment> findByPostIdOrderByCreatedAtDesc(Long postId, Pageable pageable);
     
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.postId = :postId")
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,11 +18,18 @@ import java.util.List;
 public interface ConversationParticipantRepository extends JpaRepository<ConversationParticipant, ConversationParticipantId> {
 
     /**
-     * Lấy participants của một conversation
+     * Lấy participants của một conversation (kèm user)
      */
-    @Query("SELECT cp FROM ConversationParticipant cp WHERE cp.conversation.id = :conversationId")
+    @Query("SELECT cp FROM ConversationParticipant cp JOIN FETCH cp.user WHERE cp.conversation.id = :conversationId")
     List<ConversationParticipant> findByConversationId(@Param("conversationId") Long conversationId);
 
+    /**
+     * Lấy participants (kèm user) của nhiều conversations trong một query
+     */
+    @Query("SELECT cp FROM ConversationParticipant cp JOIN FETCH cp.user " +
+           "WHERE cp.conversation.id IN :conversationIds")
+    List<ConversationParticipant> findByConversationIdIn(@Param("conversationIds") Collection<Long> conversationIds);
+
     /**
      * Kiểm tra user có trong conversation không
      */
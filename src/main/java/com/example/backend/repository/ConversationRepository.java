@@ -5,10 +5,13 @@ import com.example.backend.entity.Conversation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
 
@@ -32,4 +35,12 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
            "WHERE p.user.id = :userId " +
            "ORDER BY c.updatedAt DESC")
     Page<Conversation> findByUserId(@Param("userId") Long userId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Cập nhật updatedAt khi có tin nhắn mới bằng một câu UPDATE,
+     * không load / merge entity (tránh cascade sang participants)
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.updatedAt = :updatedAt WHERE c.id = :conversationId")
+    void updateUpdatedAt(@Param("conversationId") Long conversationId, @Param("updatedAt") LocalDateTime updatedAt);
+}
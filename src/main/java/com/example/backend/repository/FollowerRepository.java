@@ -1,8 +1,8 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.FollowUserSummary;
 import com.example.backend.entity.Follower;
 import com.example.backend.entity.FollowerId;
-import com.example.backend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -28,14 +28,18 @@ public interface FollowerRepository extends JpaRepository<Follower, FollowerId>
     /**
      * Lấy danh sách followers của một user
      */
-    @Query("SELECT f.follower FROM Follower f WHERE f.following.id = :userId ORDER BY f.createdAt DESC")
-    Page<User> findFollowersByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query(value = "SELECT new com.example.backend.dto.projection.FollowUserSummary(u.id, u.username, u.fullName, u.avatarUrl) " +
+                   "FROM Follower f JOIN f.follower u WHERE f.following.id = :userId ORDER BY f.createdAt DESC",
+           countQuery = "SELECT COUNT(f.follower.id) FROM Follower f WHERE f.following.id = :userId")
+    Page<FollowUserSummary> findFollowersByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
      * Lấy danh sách following của một user
      */
-    @Query("SELECT f.following FROM Follower f WHERE f.follower.id = :userId ORDER BY f.createdAt DESC")
-    Page<User> findFollowingByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query(value = "SELECT new com.example.backend.dto.projection.FollowUserSummary(u.id, u.username, u.fullName, u.avatarUrl) " +
+                   "FROM Follower f JOIN f.following u WHERE f.follower.id = :userId ORDER BY f.createdAt DESC",
+           countQuery = "SELECT COUNT(f.following.id) FROM Follower f WHERE f.follower.id = :userId")
+    Page<FollowUserSummary> findFollowingByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
      * Lấy danh sách following IDs của một user (để dùng cho feed)
@@ -1,15 +1,18 @@
 
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.MessageSummary;
 import com.example.backend.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository cho Message entity
@@ -17,25 +20,44 @@ import java.util.Optional;
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
+    String MESSAGE_SUMMARY = "SELECT new com.example.backend.dto.projection.MessageSummary(" +
+            "m.id, m.conversation.id, s.id, s.username, s.avatarUrl, m.content, m.messageType, m.createdAt) " +
+            "FROM Message m JOIN m.sender s ";
+
     /**
-     * Lấy tin nhắn trong conversation với phân trang
+     * Lấy tin nhắn trong conversation với phân trang (projection kèm thông tin sender)
      */
-    @Query("SELECT m FROM Message m " +
+    @Query(value = MESSAGE_SUMMARY +
            "WHERE m.conversation.id = :conversationId " +
-           "ORDER BY m.createdAt DESC")
-    Page<Message> findByConversationId(
+           "ORDER BY m.createdAt DESC",
+           countQuery = "SELECT COUNT(m) FROM Message m WHERE m.conversation.id = :conversationId")
+    Page<MessageSummary> findByConversationId(
             @Param("conversationId") Long conversationId,
             Pageable pageable
     );
 
     /**
-     * Lấy tin nhắn cuối cùng của conversation
+     * Lấy tin nhắn cuối cùng của nhiều conversations trong một query (kèm sender).
+     * Message ID tăng theo thời gian gửi nên MAX(id) là tin nhắn mới nhất.
      */
-    @Query("SELECT m FROM Message m " +
-           "WHERE m.conversation.id = :conversationId " +
-           "ORDER BY m.createdAt DESC " +
-           "LIMIT 1")
-    Optional<Message> findLastMessageByConversationId(@Param("conversationId") Long conversationId);
+    @EntityGraph(attributePaths = "sender")
+    @Query("SELECT m FROM Message m WHERE m.id IN (" +
+           "SELECT MAX(m2.id) FROM Message m2 " +
+           "WHERE m2.conversation.id IN :conversationIds " +
+           "GROUP BY m2.conversation.id)")
+    List<Message> findLastMessagesByConversationIds(@Param("conversationIds") Collection<Long> conversationIds);
+
+    /**
+     * Lấy tin nhắn mới hơn một message ID (theo thứ tự tăng dần), dùng khi resume sau reconnect
+     */
+    @Query(MESSAGE_SUMMARY +
+           "WHERE m.conversation.id = :conversationId AND m.id > :afterMessageId " +
+           "ORDER BY m.id ASC")
+    List<MessageSummary> findByConversationIdAfter(
+            @Param("conversationId") Long conversationId,
+            @Param("afterMessageId") Long afterMessageId,
+            Pageable pageable
+    );
 
     /**
      * Đếm số tin nhắn trong conversation
@@ -0,0 +1,167 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.Notification;
+import com.example.backend.util.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ghi notifications theo JDBC batch (upsert vào bucket aggregate, cần ON DUPLICATE KEY nên không qua Hibernate)
+ * và xóa notifications theo từng batch nhỏ cho purge job
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationJdbcRepository {
+
+    // Mỗi (recipient, bucket, actor) chỉ một row: like lại / comment nhiều lần không đếm thêm actor
+    private static final String INSERT_ACTOR_SQL =
+            "INSERT INTO notification_actors (recipient_id, bucket_key, actor_id, acted_at) " +
+            "VALUES (?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE acted_at = GREATEST(notification_actors.acted_at, new.acted_at)";
+
+    // Gộp vào bucket đang mở: actor_count là số actor khác nhau, latest_actor_ids là các actor
+    // mới nhất (không trùng), cả hai tính từ notification_actors đã ghi trong cùng transaction.
+    // GREATEST giữ actor_count của các bucket ghi trước khi có notification_actors.
+    private static final String UPSERT_SQL =
+            "INSERT INTO notifications " +
+            "(id, recipient_id, sender_id, type, post_id, actor_count, latest_actor_ids, bucket_key, is_read, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, " +
+            "(SELECT COUNT(*) FROM notification_actors WHERE recipient_id = ? AND bucket_key = ?), " +
+            "(SELECT GROUP_CONCAT(latest.actor_id ORDER BY latest.acted_at DESC, latest.actor_id DESC) " +
+            "FROM (SELECT actor_id, acted_at FROM notification_actors WHERE recipient_id = ? AND bucket_key = ? " +
+            "ORDER BY acted_at DESC, actor_id DESC LIMIT " + Notification.MAX_LATEST_ACTORS + ") latest), " +
+            "?, FALSE, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE " +
+            "actor_count = GREATEST(notifications.actor_count, new.actor_count), " +
+            "latest_actor_ids = new.latest_actor_ids, " +
+            "sender_id = new.sender_id, " +
+            "is_read = FALSE, " +
+            "created_at = new.created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnowflakeIdGenerator idGenerator;
+
+    /**
+     * Ghi actor của từng hành động, phải chạy trước upsert của bucket tương ứng
+     */
+    public void batchInsertActors(List<Notification> actions, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_ACTOR_SQL, actions, batchSize, (ps, action) -> {
+            ps.setLong(1, action.getRecipientId());
+            ps.setString(2, action.getBucketKey());
+            ps.setLong(3, action.getSenderId());
+            ps.setTimestamp(4, Timestamp.valueOf(action.getCreatedAt()));
+        });
+    }
+
+    /**
+     * Bucket đã tồn tại giữ nguyên ID cũ (ID mới sinh cho row đó bị bỏ qua)
+     */
+    public void batchUpsert(List<Notification> notifications, int batchSize) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, notifications, batchSize, this::setUpsertValues);
+    }
+
+    /**
+     * Upsert một notification, dùng khi batch chứa nó bị lỗi
+     */
+    public void upsert(Notification notification) {
+        jdbcTemplate.update(UPSERT_SQL, ps -> setUpsertValues(ps, notification));
+    }
+
+    private void setUpsertValues(PreparedStatement ps, Notification notification) throws SQLException {
+        ps.setLong(1, idGenerator.nextId());
+        ps.setLong(2, notification.getRecipientId());
+        ps.setLong(3, notification.getSenderId());
+        ps.setString(4, notification.getType().name());
+        if (notification.getPostId() != null) {
+            ps.setLong(5, notification.getPostId());
+        } else {
+            ps.setNull(5, Types.BIGINT);
+        }
+        ps.setLong(6, notification.getRecipientId());
+        ps.setString(7, notification.getBucketKey());
+        ps.setLong(8, notification.getRecipientId());
+        ps.setString(9, notification.getBucketKey());
+        ps.setString(10, notification.getBucketKey());
+        ps.setTimestamp(11, Timestamp.valueOf(notification.getCreatedAt()));
+    }
+
+    public Long findMinId() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM notifications", Long.class);
+    }
+
+    public Long findMaxId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM notifications", Long.class);
+    }
+
+    /**
+     * ID thứ count sau afterId (theo primary key), null nếu còn ít hơn count rows.
+     * ID không liên tục (Snowflake) nên batch của purge được chia theo số row thay vì độ rộng khoảng ID
+     */
+    public Long findIdAfter(long afterId, int count) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM notifications WHERE id > ? ORDER BY id LIMIT 1 OFFSET ?",
+                Long.class, afterId, count - 1);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Xóa notifications đã đọc tạo trước cutoff trong khoảng primary key (fromId, toId]
+     */
+    public int deleteReadBefore(LocalDateTime cutoff, long fromId, long toId) {
+        return jdbcTemplate.update(
+                "DELETE FROM notifications WHERE id > ? AND id <= ? AND is_read = TRUE AND created_at < ?",
+                fromId, toId, Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * Xóa actor của các bucket đã đóng (không còn hành động mới nào được gộp vào)
+     */
+    public int deleteActorsBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM notification_actors WHERE acted_at < ? ORDER BY acted_at LIMIT ?",
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    /**
+     * Recipient của các notifications chưa đọc thuộc post (để đếm lại unread sau khi purge)
+     */
+    public List<Long> findUnreadRecipientIdsByPostId(Long postId) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT recipient_id FROM notifications WHERE post_id = ? AND is_read = FALSE",
+                Long.class, postId);
+    }
+
+    public int deleteByPostId(Long postId, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM notifications WHERE post_id = ? ORDER BY id LIMIT ?", postId, limit);
+    }
+
+    /**
+     * Recipient của các orphan chưa đọc trong khoảng primary key (fromId, toId]
+     */
+    public List<Long> findUnreadOrphanRecipientIds(long fromId, long toId) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT n.recipient_id FROM notifications n LEFT JOIN posts p ON p.id = n.post_id " +
+                "WHERE n.id > ? AND n.id <= ? AND n.post_id IS NOT NULL AND p.id IS NULL AND n.is_read = FALSE",
+                Long.class, fromId, toId);
+    }
+
+    /**
+     * Xóa notifications trong khoảng primary key (fromId, toId] trỏ tới post không còn tồn tại
+     * (notification được flush sau khi purge của post đã chạy)
+     */
+    public int deleteOrphans(long fromId, long toId) {
+        return jdbcTemplate.update(
+                "DELETE n FROM notifications n LEFT JOIN posts p ON p.id = n.post_id " +
+                "WHERE n.id > ? AND n.id <= ? AND n.post_id IS NOT NULL AND p.id IS NULL",
+                fromId, toId);
+    }
+}
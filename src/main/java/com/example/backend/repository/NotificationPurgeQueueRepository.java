@@ -0,0 +1,60 @@
+package com.example.backend.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Hàng đợi purge notifications của post đã bị xóa
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationPurgeQueueRepository {
+
+    public enum TargetType {
+        POST
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PurgeTask {
+        private final Long id;
+        private final TargetType targetType;
+        private final Long targetId;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void enqueue(TargetType targetType, Long targetId) {
+        jdbcTemplate.update(
+                "INSERT INTO notification_purge_queue (target_type, target_id) VALUES (?, ?)",
+                targetType.name(), targetId);
+    }
+
+    /**
+     * Các task cũ nhất đã nằm trong hàng đợi ít nhất graceSeconds (so theo giờ của DB)
+     */
+    public List<PurgeTask> findReady(long graceSeconds, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, target_type, target_id FROM notification_purge_queue " +
+                "WHERE created_at <= NOW() - INTERVAL ? SECOND ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new PurgeTask(
+                        rs.getLong("id"),
+                        TargetType.valueOf(rs.getString("target_type")),
+                        rs.getLong("target_id")),
+                graceSeconds, limit);
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_purge_queue", Long.class);
+        return count != null ? count : 0;
+    }
+
+    public void delete(Long id) {
+        jdbcTemplate.update("DELETE FROM notification_purge_queue WHERE id = ?", id);
+    }
+}
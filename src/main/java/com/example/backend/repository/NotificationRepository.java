@@ -1 +1,60 @@
 
+package com.example.backend.repository;
+
+import com.example.backend.entity.Notification;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository cho Notification entity (đọc / cập nhật trạng thái đã đọc)
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Lấy notifications của user kèm thông tin sender
+     */
+    @Query(value = "SELECT n FROM Notification n JOIN FETCH n.sender " +
+                   "WHERE n.recipientId = :recipientId " +
+                   "ORDER BY n.createdAt DESC",
+           countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.recipientId = :recipientId")
+    Page<Notification> findByRecipientId(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    /**
+     * Đánh dấu một notification đã đọc
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.id = :id AND n.recipientId = :recipientId AND n.isRead = false")
+    int markAsRead(@Param("id") Long id, @Param("recipientId") Long recipientId);
+
+    /**
+     * Đánh dấu tất cả notifications của user đã đọc
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.recipientId = :recipientId AND n.isRead = false")
+    int markAllAsRead(@Param("recipientId") Long recipientId);
+
+    /**
+     * Đếm notifications chưa đọc của user
+     */
+    long countByRecipientIdAndIsReadFalse(Long recipientId);
+
+    /**
+     * Đếm notifications chưa đọc cho nhiều user trong một query
+     * @return danh sách [recipientId, count], user không có notification chưa đọc sẽ không có trong kết quả
+     */
+    @Query("SELECT n.recipientId, COUNT(n) FROM Notification n " +
+           "WHERE n.recipientId IN :recipientIds AND n.isRead = false " +
+           "GROUP BY n.recipientId")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<Long> recipientIds);
+}
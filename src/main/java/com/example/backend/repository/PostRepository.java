@@ -1,28 +1,53 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.projection.PostSummary;
 import com.example.backend.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     
+    // Lấy bài post kèm tác giả trong cùng một query
+    @EntityGraph(attributePaths = "user")
+    Optional<Post> findWithUserById(Long id);
+    
+    // Các list query trả về PostSummary: chỉ select cột cần cho PostResponse (không dirty checking)
+    String POST_SUMMARY = "SELECT new com.example.backend.dto.projection.PostSummary(" +
+            "p.id, u.id, u.username, u.fullName, u.avatarUrl, p.caption, p.imageUrl, p.createdAt, p.updatedAt) " +
+            "FROM Post p JOIN p.user u ";
+    
+    // Một bài post dạng PostSummary (nạp PostResponseCache)
+    @Query(POST_SUMMARY + "WHERE p.id = :postId")
+    Optional<PostSummary> findSummaryById(@Param("postId") Long postId);
+    
     // Lấy tất cả bài post của một user
-    Page<Post> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query(value = POST_SUMMARY + "WHERE p.user.id = :userId ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
+    Page<PostSummary> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId, Pageable pageable);
     
     // Lấy feed - bài post của chính user (tạm thời chỉ lấy post của user, chưa include following)
     // Sẽ update sau khi có Follow feature
-    @Query("SELECT p FROM Post p WHERE p.user.id = :userId ORDER BY p.createdAt DESC")
-    Page<Post> findFeedPosts(@Param("userId") Long userId, Pageable pageable);
+    @Query(value = POST_SUMMARY + "WHERE p.user.id = :userId ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
+    Page<PostSummary> findFeedPosts(@Param("userId") Long userId, Pageable pageable);
+    
+    // Lấy ID chủ bài post (không load entity)
+    @Query("SELECT p.user.id FROM Post p WHERE p.id = :postId")
+    Optional<Long> findOwnerIdById(@Param("postId") Long postId);
     
     // Đếm số post của user
     Long countByUserId(Long userId);
     
     // Tìm bài post theo caption
-    @Query("SELECT p FROM Post p WHERE LOWER(p.caption) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.createdAt DESC")
-    Page<Post> searchByCaption(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = POST_SUMMARY + "WHERE LOWER(p.caption) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE LOWER(p.caption) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<PostSummary> searchByCaption(@Param("keyword") String keyword, Pageable pageable);
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
     
     @Override
     @Transactional
@@ -25,11 +26,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
     
-    @Transactional
+    /**
+     * Không mở transaction ở đây: cache hit không được tốn DB round-trip nào
+     */
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
-        
-        return UserPrincipal.create(user);
+        return userPrincipalCache.get(id, userId -> {
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+            
+            return UserPrincipal.create(user);
+        });
     }
 }
\ No newline at end of file
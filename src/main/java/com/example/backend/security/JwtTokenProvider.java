@@ -1,100 +1,171 @@
 package com.example.backend.security;
 
+import com.example.backend.metrics.HotPathMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@RequiredArgsConstructor
+@Slf4j
 public class JwtTokenProvider {
-    
+
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final HotPathMetrics hotPathMetrics;
+
     @Value("${app.jwt.secret:mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}")
     private String jwtSecret;
-    
-    @Value("${app.jwt.expiration:86400000}") // 24 hours in milliseconds
+
+    @Value("${app.jwt.expiration:900000}") // 15 minutes in milliseconds, dùng refresh token để lấy token mới
     private long jwtExpirationInMs;
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+
+    @Value("${app.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // Key và parser được build một lần, dùng chung cho mọi request
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // SHA-256 của token đã verify gần đây -> claims, entry hết hạn đúng lúc token hết hạn.
+    // Không giữ token gốc trên heap: heap dump không làm lộ access token còn dùng được
+    private Cache<TokenHash, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<TokenHash, Claims>() {
+                    @Override
+                    public long expireAfterCreate(TokenHash token, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        long remainingMs = expiration != null
+                                ? expiration.getTime() - System.currentTimeMillis()
+                                : jwtExpirationInMs;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenHash token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenHash token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
-    
+
     public String generateToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
+        return generateToken((UserPrincipal) authentication.getPrincipal());
+    }
+
+    public String generateToken(UserPrincipal userPrincipal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
-        
+
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(Long.toString(userPrincipal.getId()))
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-    
-    public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return Long.parseLong(claims.getSubject());
+
+    public long getExpirationInMs() {
+        return jwtExpirationInMs;
     }
-    
-    public boolean validateToken(String authToken) {
+
+    /**
+     * Verify token (chữ ký + hạn + chưa bị thu hồi) và trả về claims.
+     * Token đã verify gần đây được lấy từ cache, không cần tính HMAC lại.
+     */
+    public Optional<Claims> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        TokenHash hash = TokenHash.of(token);
+        Claims cached = verifiedTokens.getIfPresent(hash);
+        boolean cacheHit = cached != null;
+        Optional<Claims> result = cacheHit ? notRevoked(cached) : parse(token, hash);
+        hotPathMetrics.jwtVerify(cacheHit).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Optional<Claims> parse(String token, TokenHash hash) {
         try {
-            // DEBUG LOGS
-            System.out.println("\n========== VALIDATING JWT TOKEN ==========");
-            System.out.println("Token (first 30 chars): [" + authToken.substring(0, Math.min(30, authToken.length())) + "...]");
-            System.out.println("Token length: " + authToken.length());
-            System.out.println("Secret key length: " + jwtSecret.length() + " bytes");
-            
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            
-            System.out.println("✅ Token validation SUCCESS");
-            System.out.println("==========================================\n");
-            return true;
-            
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(hash, claims);
+            return notRevoked(claims);
         } catch (io.jsonwebtoken.security.SignatureException ex) {
-            System.err.println("\n❌ JWT VALIDATION FAILED: Invalid JWT signature");
-            System.err.println("Error: " + ex.getMessage());
-            System.err.println("Possible causes:");
-            System.err.println("  1. Token was generated with different secret key");
-            System.err.println("  2. Token was tampered with");
-            System.err.println("  3. Secret key changed after token generation");
-            System.err.println("==========================================\n");
+            log.warn("JWT validation failed: invalid signature");
         } catch (MalformedJwtException ex) {
-            System.err.println("\n❌ JWT VALIDATION FAILED: Invalid JWT token format");
-            System.err.println("Error: " + ex.getMessage());
-            System.err.println("==========================================\n");
+            log.warn("JWT validation failed: invalid token format");
         } catch (ExpiredJwtException ex) {
-            System.err.println("\n❌ JWT VALIDATION FAILED: Expired JWT token");
-            System.err.println("Error: " + ex.getMessage());
-            System.err.println("Expired at: " + ex.getClaims().getExpiration());
-            System.err.println("==========================================\n");
+            log.debug("JWT validation failed: token expired at {}", ex.getClaims().getExpiration());
         } catch (UnsupportedJwtException ex) {
-            System.err.println("\n❌ JWT VALIDATION FAILED: Unsupported JWT token");
-            System.err.println("Error: " + ex.getMessage());
-            System.err.println("==========================================\n");
+            log.warn("JWT validation failed: unsupported token");
         } catch (IllegalArgumentException ex) {
-            System.err.println("\n❌ JWT VALIDATION FAILED: JWT claims string is empty");
-            System.err.println("Error: " + ex.getMessage());
-            System.err.println("==========================================\n");
-        } catch (Exception ex) {
-            System.err.println("\n❌ JWT VALIDATION FAILED: Unknown error");
-            System.err.println("Error type: " + ex.getClass().getName());
-            System.err.println("Error: " + ex.getMessage());
-            ex.printStackTrace();
-            System.err.println("==========================================\n");
+            log.warn("JWT validation failed: claims string is empty");
+        } catch (JwtException ex) {
+            log.warn("JWT validation failed: {}", ex.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Claims> notRevoked(Claims claims) {
+        if (revokedTokenRegistry.isRevoked(claims.getId())) {
+            log.debug("JWT validation failed: token {} has been revoked", claims.getId());
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    public Long getUserId(Claims claims) {
+        return Long.parseLong(claims.getSubject());
+    }
+
+    /**
+     * SHA-256 của token dưới dạng 4 long (key cache cố định 32 byte, không phụ thuộc độ dài token)
+     */
+    private record TokenHash(long h0, long h1, long h2, long h3) {
+
+        static TokenHash of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+                ByteBuffer buffer = ByteBuffer.wrap(digest);
+                return new TokenHash(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                // Mọi JVM đều phải hỗ trợ SHA-256
+                throw new IllegalStateException(e);
+            }
         }
-        return false;
     }
 }
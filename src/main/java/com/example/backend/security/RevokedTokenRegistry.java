@@ -0,0 +1,108 @@
+package com.example.backend.security;
+
+import com.example.backend.entity.RevokedToken;
+import com.example.backend.repository.RevokedTokenRepository;
+import com.example.backend.util.BloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Danh sách access token (jti) bị thu hồi
+ *
+ * Mỗi request chỉ kiểm tra Bloom filter trong bộ nhớ; chỉ khi filter báo "có thể có"
+ * mới query bảng revoked_tokens để xác nhận. Filter được build lại định kỳ từ DB
+ * để nhận thu hồi từ các instance khác và bỏ các token đã hết hạn.
+ */
+@Component
+@Slf4j
+public class RevokedTokenRegistry {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Kết quả xác nhận từ DB cho các jti filter báo "có thể có"
+    private final Cache<String, Boolean> confirmed;
+
+    // jti bị thu hồi trên instance này, luôn được thêm vào filter mới
+    // (tránh mất khi reload đọc DB trước lúc transaction thu hồi commit)
+    private final Map<String, LocalDateTime> localRevocations = new ConcurrentHashMap<>();
+
+    public RevokedTokenRegistry(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${app.jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+            @Value("${app.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            rebuild(LocalDateTime.now());
+        } catch (DataAccessException e) {
+            log.error("Could not load revoked tokens", e);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return confirmed.get(jti, revokedTokenRepository::existsById);
+    }
+
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        localRevocations.put(jti, expiresAt);
+        filter.put(jti);
+        confirmed.put(jti, true);
+    }
+
+    /**
+     * Build lại filter từ các token bị thu hồi còn hạn
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.reload-interval:60000}",
+               initialDelayString = "${app.jwt.revocation.reload-interval:60000}")
+    @Transactional
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        rebuild(now);
+    }
+
+    private void rebuild(LocalDateTime now) {
+        localRevocations.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, jtis.size() * 2L), falsePositiveRate);
+        jtis.forEach(rebuilt::put);
+        localRevocations.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        confirmed.invalidateAll();
+
+        log.debug("Loaded {} revoked tokens into Bloom filter", jtis.size());
+    }
+}
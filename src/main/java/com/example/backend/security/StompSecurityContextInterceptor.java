@@ -0,0 +1,43 @@
+package com.example.backend.security;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Gắn SecurityContext theo principal của từng STOMP frame trên thread xử lý inbound channel
+ * và xóa sau khi xử lý xong
+ *
+ * Thread của clientInboundChannel dùng chung cho mọi session, nên code đọc SecurityContextHolder
+ * (ví dụ ReadYourWritesTracker) chỉ thấy đúng người gửi của frame đang xử lý.
+ */
+@Component
+public class StompSecurityContextInterceptor implements ExecutorChannelInterceptor {
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        Principal user = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+        if (user instanceof Authentication authentication) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+        } else {
+            SecurityContextHolder.clearContext();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        SecurityContextHolder.clearContext();
+    }
+}
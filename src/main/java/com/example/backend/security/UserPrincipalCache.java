@@ -0,0 +1,53 @@
+
+package com.example.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache UserPrincipal theo user ID (giới hạn kích thước + TTL)
+ * để JWT filter và WebSocket CONNECT không query bảng users mỗi request
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<Long, UserPrincipal> cache;
+
+    public UserPrincipalCache(
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl:300000}") long ttlInMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlInMs))
+                .build();
+    }
+
+    public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Xóa principal khỏi cache (khi đổi mật khẩu, cập nhật profile).
+     * Nếu đang trong transaction thì xóa thêm một lần sau commit để tránh
+     * request song song nạp lại dữ liệu cũ trước khi commit.
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.backend.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sinh social graph tổng hợp (profile "seed") vào datasource đang cấu hình
+ *
+ * - Follow graph: số người follow của mỗi user theo Zipf (user ID nhỏ = người nổi tiếng),
+ *   số người mỗi user follow theo power-law
+ * - Posts phân bổ theo Zipf trên tác giả, likes / comments / messages mỗi item theo power-law
+ * - Mỗi chunk có random riêng sinh từ (seed, bảng, chunk) nên kết quả không phụ thuộc số thread
+ * - Ghi song song theo chunk, mỗi chunk một transaction, INSERT nhiều VALUES
+ * - Bảng dùng Snowflake ID (comments, messages) được gán ID theo khoảng riêng của từng post /
+ *   conversation (post ID * giới hạn + thứ tự), luôn nhỏ hơn mọi ID ứng dụng sinh lúc chạy
+ *
+ * Yêu cầu database rỗng (chỉ có schema từ Flyway). Mọi user dùng chung password (app.seed.password),
+ * username dạng user{i} để load generator đăng nhập được.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class DataSeeder implements ApplicationRunner {
+
+    private static final int MAX_FOLLOWS_PER_USER = 5_000;
+    private static final int MAX_ITEMS_PER_POST = 100_000;
+    private static final int MAX_MESSAGES_PER_CONVERSATION = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext applicationContext;
+
+    private final long seed;
+    private final int users;
+    private final int followsPerUser;
+    private final int postsPerUser;
+    private final int likesPerPost;
+    private final int commentsPerPost;
+    private final int conversationsPerUser;
+    private final int messagesPerConversation;
+    private final double zipfExponent;
+    private final LocalDateTime start;
+    private final long spanSeconds;
+    private final String password;
+    private final int threads;
+    private final int chunkSize;
+    private final int batchRows;
+    private final boolean exitWhenDone;
+
+    public DataSeeder(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            ConfigurableApplicationContext applicationContext,
+            @Value("${app.seed.seed:42}") long seed,
+            @Value("${app.seed.users:10000}") int users,
+            @Value("${app.seed.follows-per-user:50}") int followsPerUser,
+            @Value("${app.seed.posts-per-user:5}") int postsPerUser,
+            @Value("${app.seed.likes-per-post:10}") int likesPerPost,
+            @Value("${app.seed.comments-per-post:2}") int commentsPerPost,
+            @Value("${app.seed.conversations-per-user:2}") int conversationsPerUser,
+            @Value("${app.seed.messages-per-conversation:20}") int messagesPerConversation,
+            @Value("${app.seed.zipf-exponent:1.0}") double zipfExponent,
+            @Value("${app.seed.end-date:2025-01-01}") String endDate,
+            @Value("${app.seed.days:365}") int days,
+            @Value("${app.seed.password:password123}") String password,
+            @Value("${app.seed.threads:0}") int threads,
+            @Value("${app.seed.chunk-size:10000}") int chunkSize,
+            @Value("${app.seed.batch-rows:1000}") int batchRows,
+            @Value("${app.seed.exit-when-done:true}") boolean exitWhenDone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+        this.seed = seed;
+        this.users = users;
+        this.followsPerUser = followsPerUser;
+        this.postsPerUser = postsPerUser;
+        this.likesPerPost = likesPerPost;
+        this.commentsPerPost = commentsPerPost;
+        this.conversationsPerUser = conversationsPerUser;
+        this.messagesPerConversation = messagesPerConversation;
+        this.zipfExponent = zipfExponent;
+        // Mốc thời gian cố định (không dùng now()) để dữ liệu giống nhau giữa các lần seed
+        this.start = LocalDate.parse(endDate).atStartOfDay().minusDays(days);
+        this.spanSeconds = TimeUnit.DAYS.toSeconds(days);
+        this.password = password;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.batchRows = batchRows;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existingUsers != null && existingUsers > 0) {
+            throw new IllegalStateException("Seeding requires empty tables, found " + existingUsers + " users");
+        }
+
+        log.info("Seeding {} users with seed {} on {} threads", users, seed, threads);
+        long posts = (long) users * postsPerUser;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Hash một lần, mọi user dùng chung (BCrypt cho hàng triệu user sẽ mất hàng giờ)
+            String passwordHash = passwordEncoder.encode(password);
+            ZipfDistribution popularity = new ZipfDistribution(users, zipfExponent);
+
+            runPhase(executor, "users", 1, users, (from, to, random) -> seedUsers(from, to, random, passwordHash));
+            runPhase(executor, "followers", 2, users, (from, to, random) -> seedFollowers(from, to, random, popularity));
+            runPhase(executor, "posts", 3, posts, (from, to, random) -> seedPosts(from, to, random, posts, popularity));
+            runPhase(executor, "likes and comments", 4, posts,
+                    (from, to, random) -> seedLikesAndComments(from, to, random, posts, popularity));
+            runPhase(executor, "conversations", 5, users, this::seedConversations);
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Seeding finished");
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * Chia [1, total] thành các chunk, chạy song song, mỗi chunk một transaction
+     */
+    private void runPhase(ExecutorService executor, String name, int phase, long total, ChunkWriter writer)
+            throws InterruptedException, ExecutionException {
+        long startedAt = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (long from = 1, chunk = 0; from <= total; from += chunkSize, chunk++) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(total, from + chunkSize - 1);
+            SplittableRandom random = new SplittableRandom(chunkSeed(phase, chunk));
+            futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> rows.addAndGet(writer.write(chunkFrom, chunkTo, random)))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        log.info("Seeded {}: {} rows in {} ms ({} rows/s)", name, rows.get(), elapsedMs, rows.get() * 1000 / elapsedMs);
+    }
+
+    private long seedUsers(long from, long to, SplittableRandom random, String passwordHash) {
+        MultiRowInsert insert = insert("users",
+                List.of("id", "username", "password", "email", "full_name", "avatar_url", "bio", "created_at", "updated_at"));
+        for (long id = from; id <= to; id++) {
+            Timestamp createdAt = timestamp(random.nextLong(spanSeconds / 2));
+            insert.add(id, "user" + id, passwordHash, "user" + id + "@seed.local", "Seed User " + id,
+                    random.nextInt(4) == 0 ? null : "/uploads/avatars/" + id + ".jpg",
+                    random.nextBoolean() ? text(random, 10, 160) : null,
+                    createdAt, createdAt);
+        }
+        insert.flush();
+        return insert.getWritten();
+    }
+
+    private long seedFollowers(long from, long to, SplittableRandom random, ZipfDistribution popularity) {
+        MultiRowInsert insert = insert("followers", List.of("follower_id", "following_id", "created_at"));
+        int maxFollows = (int) Math.min(MAX_FOLLOWS_PER_USER, (users - 1) / 2);
+        Set<Long> following = new HashSet<>();
+
+        for (long followerId = from; followerId <= to; followerId++) {
+            int count = powerLawCount(random, followsPerUser, maxFollows);
+            following.clear();
+            // Giới hạn số lần thử: phần đuôi Zipf hiếm khi trúng user mới
+            for (int attempt = 0; following.size() < count && attempt < count * 20; attempt++) {
+                long followingId = popularity.sample(random);
+                if (followingId != followerId && following.add(followingId)) {
+                    insert.add(followerId, followingId, timestamp(spanSeconds / 2 + random.nextLong(spanSeconds / 2)));
+                }
+            }
+        }
+        insert.flush();
+        return insert.getWritten();
+    }
+
+    /**
+     * Post ID tăng theo thời gian (created_at), tác giả chọn theo Zipf
+     */
+    private long seedPosts(long from, long to, SplittableRandom random, long totalPosts, ZipfDistribution popularity) {
+        MultiRowInsert insert = insert("posts",
+                List.of("id", "user_id", "caption", "image_url", "created_at", "updated_at"));
+        for (long id = from; id <= to; id++) {
+            Timestamp createdAt = timestamp(postOffsetSeconds(id, totalPosts) + random.nextLong(60));
+            insert.add(id, popularity.sample(random), text(random, 0, 300),
+                    "/uploads/posts/" + id + ".jpg", createdAt, createdAt);
+        }
+        insert.flush();
+        return insert.getWritten();
+    }
+
+    private long seedLikesAndComments(long from, long to, SplittableRandom random,
+                                      long totalPosts, ZipfDistribution popularity) {
+        MultiRowInsert likes = insert("likes", List.of("user_id", "post_id", "created_at"));
+        MultiRowInsert comments = insert("comments",
+                List.of("id", "user_id", "post_id", "content", "created_at", "updated_at"));
+        // Likers lấy ngẫu nhiên không trùng, giới hạn một nửa số user để vòng lấy mẫu luôn nhanh
+        int maxLikes = Math.min(MAX_ITEMS_PER_POST, users / 2);
+        Set<Long> likers = new HashSet<>();
+
+        for (long postId = from; postId <= to; postId++) {
+            long postedAt = postOffsetSeconds(postId, totalPosts);
+            long remaining = Math.max(1, spanSeconds - postedAt);
+
+            int likeCount = powerLawCount(random, likesPerPost, maxLikes);
+            likers.clear();
+            while (likers.size() < likeCount) {
+                long userId = 1 + random.nextLong(users);
+                if (likers.add(userId)) {
+                    likes.add(userId, postId, timestamp(postedAt + random.nextLong(remaining)));
+                }
+            }
+
+            int commentCount = powerLawCount(random, commentsPerPost, MAX_ITEMS_PER_POST);
+            for (int i = 0; i < commentCount; i++) {
+                Timestamp createdAt = timestamp(postedAt + random.nextLong(remaining));
+                comments.add(postId * MAX_ITEMS_PER_POST + i, popularity.sample(random), postId,
+                        text(random, 1, 200), createdAt, createdAt);
+            }
+        }
+        likes.flush();
+        comments.flush();
+        return likes.getWritten() + comments.getWritten();
+    }
+
+    /**
+     * Mỗi user khởi tạo conversationsPerUser cuộc hội thoại 1-1 với user (id + step),
+     * step khác nhau và <= (users - 1) / 2 nên mỗi cặp user chỉ có một conversation
+     */
+    private long seedConversations(long from, long to, SplittableRandom random) {
+        MultiRowInsert conversations = insert("conversations", List.of("id", "created_at", "updated_at"));
+        MultiRowInsert participants = insert("conversation_participants",
+                List.of("user_id", "conversation_id", "joined_at")).dependsOn(conversations);
+        MultiRowInsert messages = insert("messages",
+                List.of("id", "conversation_id", "sender_id", "content", "message_type", "created_at"))
+                .dependsOn(conversations);
+
+        long maxStep = (users - 1) / 2;
+        int perUser = (int) Math.min(conversationsPerUser, maxStep);
+        if (perUser <= 0) {
+            return 0;
+        }
+        Set<Long> steps = new HashSet<>();
+
+        for (long userId = from; userId <= to; userId++) {
+            steps.clear();
+            while (steps.size() < perUser) {
+                steps.add(1 + random.nextLong(maxStep));
+            }
+
+            int index = 0;
+            for (long step : steps) {
+                long conversationId = (userId - 1) * perUser + index++ + 1;
+                long partnerId = (userId - 1 + step) % users + 1;
+
+                long startedAt = random.nextLong(spanSeconds / 2);
+                long lastMessageAt = startedAt;
+                int messageCount = powerLawCount(random, messagesPerConversation, MAX_MESSAGES_PER_CONVERSATION);
+                List<Object[]> rows = new ArrayList<>(messageCount);
+                for (int i = 0; i < messageCount; i++) {
+                    lastMessageAt = Math.min(spanSeconds, lastMessageAt + 1 + random.nextLong(3600));
+                    rows.add(new Object[]{conversationId * MAX_MESSAGES_PER_CONVERSATION + i, conversationId,
+                            random.nextBoolean() ? userId : partnerId,
+                            text(random, 1, 200), "text", timestamp(lastMessageAt)});
+                }
+
+                conversations.add(conversationId, timestamp(startedAt), timestamp(lastMessageAt));
+                participants.add(userId, conversationId, timestamp(startedAt));
+                participants.add(partnerId, conversationId, timestamp(startedAt));
+                rows.forEach(messages::add);
+            }
+        }
+        conversations.flush();
+        participants.flush();
+        messages.flush();
+        return conversations.getWritten() + participants.getWritten() + messages.getWritten();
+    }
+
+    private MultiRowInsert insert(String table, List<String> columns) {
+        return new MultiRowInsert(jdbcTemplate, table, columns, batchRows);
+    }
+
+    /**
+     * Số lượng theo phân phối Pareto (alpha = 2) có trung bình xấp xỉ mean, đuôi dài
+     */
+    private static int powerLawCount(SplittableRandom random, int mean, int max) {
+        if (mean <= 0 || max <= 0) {
+            return 0;
+        }
+        double scale = mean / 2.0;
+        double value = scale / Math.sqrt(1 - random.nextDouble());
+        return (int) Math.min(max, Math.floor(value));
+    }
+
+    private long postOffsetSeconds(long postId, long totalPosts) {
+        return spanSeconds / 4 + (postId - 1) * (spanSeconds * 3 / 4) / Math.max(1, totalPosts);
+    }
+
+    private Timestamp timestamp(long offsetSeconds) {
+        return Timestamp.valueOf(start.plusSeconds(offsetSeconds));
+    }
+
+    private long chunkSeed(int phase, long chunk) {
+        // SplitMix64 trộn (seed, phase, chunk) để các chunk có dãy random độc lập
+        long z = seed + phase * 0x9E3779B97F4A7C15L + chunk * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String text(SplittableRandom random, int minLength, int maxLength) {
+        int length = random.nextInt(minLength, maxLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(random.nextInt(6) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        long write(long from, long to, SplittableRandom random);
+    }
+}
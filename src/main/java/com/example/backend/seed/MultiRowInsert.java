@@ -0,0 +1,83 @@
+package com.example.backend.seed;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Gom rows thành câu INSERT nhiều VALUES (mặc định 1000 rows mỗi statement)
+ *
+ * Không thread-safe, mỗi chunk của seeder dùng instance riêng.
+ */
+class MultiRowInsert {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String prefix;
+    private final String rowPlaceholders;
+    private final int columnCount;
+    private final int batchRows;
+
+    private final List<Object> values = new ArrayList<>();
+    private final List<MultiRowInsert> parents = new ArrayList<>();
+    private String fullBatchSql;
+    private int rows;
+    private long written;
+
+    MultiRowInsert(JdbcTemplate jdbcTemplate, String table, List<String> columns, int batchRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        this.columnCount = columns.size();
+        this.batchRows = batchRows;
+    }
+
+    /**
+     * Rows của parent (ví dụ conversations) luôn được ghi trước rows của insert này (messages)
+     */
+    MultiRowInsert dependsOn(MultiRowInsert parent) {
+        parents.add(parent);
+        return this;
+    }
+
+    void add(Object... row) {
+        if (row.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " values but got " + row.length);
+        }
+        Collections.addAll(values, row);
+        if (++rows == batchRows) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (rows == 0) {
+            return;
+        }
+        parents.forEach(MultiRowInsert::flush);
+
+        String sql;
+        if (rows == batchRows) {
+            if (fullBatchSql == null) {
+                fullBatchSql = sql(batchRows);
+            }
+            sql = fullBatchSql;
+        } else {
+            sql = sql(rows);
+        }
+        jdbcTemplate.update(sql, values.toArray());
+
+        written += rows;
+        values.clear();
+        rows = 0;
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    private String sql(int rowCount) {
+        return prefix + String.join(", ", Collections.nCopies(rowCount, rowPlaceholders));
+    }
+}
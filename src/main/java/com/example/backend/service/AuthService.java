@@ -2,6 +2,7 @@
 package com.example.backend.service;
 
 import com.example.backend.dto.request.LoginRequest;
+import com.example.backend.dto.request.RefreshTokenRequest;
 import com.example.backend.dto.request.RegisterRequest;
 import com.example.backend.dto.response.JwtResponse;
 
@@ -10,4 +11,16 @@ public interface AuthService {
     JwtResponse login(LoginRequest loginRequest);
     
     JwtResponse register(RegisterRequest registerRequest);
+    
+    /**
+     * Đổi refresh token lấy access token + refresh token mới
+     */
+    JwtResponse refresh(RefreshTokenRequest refreshTokenRequest);
+    
+    /**
+     * Thu hồi refresh token và access token hiện tại
+     * @param refreshToken refresh token của phiên đăng nhập
+     * @param accessToken access token trong header Authorization (có thể null)
+     */
+    void logout(String refreshToken, String accessToken);
 }
\ No newline at end of file
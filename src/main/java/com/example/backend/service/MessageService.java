@@ -6,6 +6,8 @@ import com.example.backend.dto.response.ConversationResponse;
 import com.example.backend.dto.response.MessageResponse;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 /**
  * Service interface cho Messaging
  */
@@ -38,6 +40,16 @@ public interface MessageService {
      */
     Page<MessageResponse> getMessages(Long conversationId, Long userId, int page, int size);
 
+    /**
+     * Lấy tin nhắn mới hơn một message ID (dùng khi resume sau reconnect)
+     * @param conversationId ID của conversation
+     * @param userId ID của user (để check quyền truy cập)
+     * @param afterMessageId ID tin nhắn cuối cùng client đã nhận
+     * @param limit số tin nhắn tối đa
+     * @return danh sách MessageResponse theo thứ tự tăng dần
+     */
+    List<MessageResponse> getMessagesAfter(Long conversationId, Long userId, Long afterMessageId, int limit);
+
     /**
      * Xóa tin nhắn
      * @param messageId ID của tin nhắn
@@ -0,0 +1,16 @@
+package com.example.backend.service;
+
+/**
+ * Service interface cho việc dọn dẹp notifications
+ * (retention theo thời gian + purge khi post bị xóa)
+ */
+public interface NotificationPurgeService {
+
+    /**
+     * Lên lịch xóa notifications của một post đã bị xóa
+     * Ghi vào hàng đợi trong transaction hiện tại, job nền sẽ xóa theo batch
+     * sau một khoảng chờ đủ để các notification còn trong buffer được flush
+     * @param postId ID của post
+     */
+    void schedulePostPurge(Long postId);
+}
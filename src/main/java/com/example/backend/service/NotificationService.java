@@ -1 +1,59 @@
 
+package com.example.backend.service;
+
+import com.example.backend.dto.response.NotificationResponse;
+import com.example.backend.entity.NotificationType;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+
+/**
+ * Service interface cho Notifications
+ */
+public interface NotificationService {
+
+    /**
+     * Đưa notification vào buffer, sẽ được ghi xuống DB theo batch
+     * @param recipientId ID của user nhận notification
+     * @param senderId ID của user gây ra hành động
+     * @param type loại notification
+     * @param postId ID bài post (null với NEW_FOLLOWER)
+     */
+    void enqueue(Long recipientId, Long senderId, NotificationType type, Long postId);
+
+    /**
+     * Lấy danh sách notifications của user
+     * @param userId ID của user
+     * @param page số trang
+     * @param size kích thước trang
+     * @return Page of NotificationResponse
+     */
+    Page<NotificationResponse> getNotifications(Long userId, int page, int size);
+
+    /**
+     * Đánh dấu một notification đã đọc
+     * @param notificationId ID của notification
+     * @param userId ID của user (chỉ người nhận mới được đánh dấu)
+     */
+    void markAsRead(Long notificationId, Long userId);
+
+    /**
+     * Đánh dấu tất cả notifications của user đã đọc
+     * @param userId ID của user
+     */
+    void markAllAsRead(Long userId);
+
+    /**
+     * Đếm lại số notifications chưa đọc từ DB, cập nhật counter cache và push cho các user
+     * (dùng sau khi purge xóa notifications chưa đọc)
+     * @param userIds ID của các user bị ảnh hưởng
+     */
+    void refreshUnreadCounts(Collection<Long> userIds);
+
+    /**
+     * Lấy số notifications chưa đọc (từ counter cache, nạp từ DB khi chưa có)
+     * @param userId ID của user
+     * @return số notifications chưa đọc
+     */
+    long getUnreadCount(Long userId);
+}
@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Service interface cho refresh tokens (opaque, rotate mỗi lần dùng)
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Refresh token vừa được cấp (giá trị gốc chỉ trả về cho client, DB chỉ lưu hash)
+     */
+    @Getter
+    @AllArgsConstructor
+    class IssuedRefreshToken {
+        private final Long userId;
+        private final String token;
+    }
+
+    /**
+     * Cấp refresh token mới cho một lần login
+     * @param userId ID của user
+     * @return refresh token mới (family mới)
+     */
+    IssuedRefreshToken issue(Long userId);
+
+    /**
+     * Đổi refresh token cũ lấy token mới cùng family.
+     * Token đã bị rotate mà được dùng lại thì thu hồi cả family.
+     * @param token refresh token client gửi lên
+     * @return refresh token mới
+     */
+    IssuedRefreshToken rotate(String token);
+
+    /**
+     * Thu hồi refresh token (và các token cùng family) khi logout
+     * @param token refresh token client gửi lên
+     */
+    void revoke(String token);
+
+    /**
+     * Thu hồi tất cả refresh tokens của user (khi đổi mật khẩu)
+     * @param userId ID của user
+     */
+    void revokeAllForUser(Long userId);
+}
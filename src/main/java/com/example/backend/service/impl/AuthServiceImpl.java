@@ -2,14 +2,22 @@
 package com.example.backend.service.impl;
 
 import com.example.backend.dto.request.LoginRequest;
+import com.example.backend.dto.request.RefreshTokenRequest;
 import com.example.backend.dto.request.RegisterRequest;
 import com.example.backend.dto.response.JwtResponse;
 import com.example.backend.entity.User;
+import com.example.backend.exception.TooManyRequestsException;
+import com.example.backend.exception.UnauthorizedException;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.JwtTokenProvider;
+import com.example.backend.security.RevokedTokenRegistry;
+import com.example.backend.security.UserPrincipal;
 import com.example.backend.service.AuthService;
+import com.example.backend.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,6 +25,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -25,15 +36,26 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final RevokedTokenRegistry revokedTokenRegistry;
     
     @Override
     public JwtResponse login(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsername(),
-                loginRequest.getPassword()
-            )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                    loginRequest.getUsername(),
+                    loginRequest.getPassword()
+                )
+            );
+        } catch (InternalAuthenticationServiceException e) {
+            // Pool BCrypt quá tải khi kiểm tra user không tồn tại (timing attack protection)
+            if (e.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
+            throw e;
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = tokenProvider.generateToken(authentication);
@@ -41,7 +63,7 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByUsername(loginRequest.getUsername())
             .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return new JwtResponse(jwt, user.getId(), user.getUsername(), user.getEmail(), user.getFullName());
+        return buildResponse(jwt, refreshTokenService.issue(user.getId()).getToken(), user);
     }
     
     @Override
@@ -63,16 +85,44 @@ public class AuthServiceImpl implements AuthService {
         
         User savedUser = userRepository.save(user);
         
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                registerRequest.getUsername(),
-                registerRequest.getPassword()
-            )
-        );
+        // Password vừa được hash, không cần authenticate lại (tránh chạy BCrypt lần hai)
+        String jwt = tokenProvider.generateToken(UserPrincipal.create(savedUser));
         
-        String jwt = tokenProvider.generateToken(authentication);
+        return buildResponse(jwt, refreshTokenService.issue(savedUser.getId()).getToken(), savedUser);
+    }
+    
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public JwtResponse refresh(RefreshTokenRequest refreshTokenRequest) {
+        RefreshTokenService.IssuedRefreshToken rotated = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+        
+        User user = userRepository.findById(rotated.getUserId())
+            .orElseThrow(() -> new UnauthorizedException("User not found"));
+        
+        String jwt = tokenProvider.generateToken(UserPrincipal.create(user));
+        
+        return buildResponse(jwt, rotated.getToken(), user);
+    }
+    
+    @Override
+    @Transactional
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokenService.revoke(refreshToken);
         
-        return new JwtResponse(jwt, savedUser.getId(), savedUser.getUsername(), 
-                              savedUser.getEmail(), savedUser.getFullName());
+        // Access token còn hạn cũng bị thu hồi ngay, không chờ hết hạn
+        tokenProvider.verify(accessToken).ifPresent(this::revokeAccessToken);
+    }
+    
+    private void revokeAccessToken(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRegistry.revoke(claims.getId(), expiresAt);
+    }
+    
+    private JwtResponse buildResponse(String accessToken, String refreshToken, User user) {
+        return new JwtResponse(accessToken, refreshToken, tokenProvider.getExpirationInMs() / 1000,
+                              user.getId(), user.getUsername(), user.getEmail(), user.getFullName());
     }
 }
\ No newline at end of file
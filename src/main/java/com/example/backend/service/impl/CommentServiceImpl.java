@@ -5,6 +5,8 @@ import com.example.backend.dto.request.CommentRequest;
 import com.example.backend.dto.response.CommentResponse;
 import com.example.backend.entity.Comment;
 import com.example.backend.entity.User;
+import com.example.backend.event.NewCommentEvent;
+import com.example.backend.event.PostChangedEvent;
 import com.example.backend.exception.ForbiddenException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.CommentRepository;
@@ -12,6 +14,7 @@ import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.service.CommentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +27,7 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -41,6 +45,10 @@ public class CommentServiceImpl implements CommentService {
         
         Comment savedComment = commentRepository.save(comment);
         
+        // Publish event để tạo notification
+        eventPublisher.publishEvent(new NewCommentEvent(this, savedComment.getId(), userId, postId));
+        eventPublisher.publishEvent(new PostChangedEvent(this, postId, PostChangedEvent.Type.COMMENT_ADDED));
+        
         return mapToResponse(savedComment);
     }
     
@@ -73,9 +81,12 @@ public class CommentServiceImpl implements CommentService {
         }
         
         commentRepository.delete(comment);
+        
+        eventPublisher.publishEvent(new PostChangedEvent(this, comment.getPostId(), PostChangedEvent.Type.COMMENT_REMOVED));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Page<CommentResponse> getCommentsByPost(Long postId, Pageable pageable) {
         // Check if post exists
         if (!postRepository.existsById(postId)) {
@@ -87,6 +98,7 @@ public class CommentServiceImpl implements CommentService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public CommentResponse getCommentById(Long commentId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + commentId));
@@ -100,8 +112,11 @@ public class CommentServiceImpl implements CommentService {
     }
     
     private CommentResponse mapToResponse(Comment comment) {
-        User user = userRepository.findById(comment.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // Comment vừa tạo chưa có association user (chỉ set userId), các comment load từ DB thì có
+        User user = comment.getUser() != null
+                ? comment.getUser()
+                : userRepository.findById(comment.getUserId())
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         return CommentResponse.builder()
                 .id(comment.getId())
@@ -3,7 +3,9 @@ package com.example.backend.service.impl;
 
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.FileUploadException;
+import com.example.backend.metrics.HotPathMetrics;
 import com.example.backend.service.FileUploadService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -21,8 +23,11 @@ import java.util.UUID;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class FileUploadServiceImpl implements FileUploadService {
     
+    private final HotPathMetrics hotPathMetrics;
+    
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
     
@@ -35,6 +40,10 @@ public class FileUploadServiceImpl implements FileUploadService {
     
     @Override
     public String uploadFile(MultipartFile file) {
+        return hotPathMetrics.fileUpload().record(() -> storeFile(file));
+    }
+    
+    private String storeFile(MultipartFile file) {
         validateFile(file);
         
         try {
@@ -53,7 +62,7 @@ public class FileUploadServiceImpl implements FileUploadService {
             Path filePath = uploadPath.resolve(newFilename);
             Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
             
-            log.info("File uploaded successfully: {}", newFilename);
+            log.debug("File uploaded successfully: {}", newFilename);
             
             // Trả về relative path
             return "/uploads/" + newFilename;
@@ -71,7 +80,7 @@ public class FileUploadServiceImpl implements FileUploadService {
                 String filename = fileUrl.substring("/uploads/".length());
                 Path filePath = Paths.get(uploadDir).resolve(filename);
                 Files.deleteIfExists(filePath);
-                log.info("File deleted successfully: {}", filename);
+                log.debug("File deleted successfully: {}", filename);
             }
         } catch (IOException e) {
             log.error("Failed to delete file: {}", fileUrl, e);
@@ -1,5 +1,6 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.dto.projection.FollowUserSummary;
 import com.example.backend.dto.response.FollowResponse;
 import com.example.backend.dto.response.FollowStatsResponse;
 import com.example.backend.entity.Follower;
@@ -32,7 +33,7 @@ public class FollowServiceImpl implements FollowService {
     @Override
     @Transactional
     public void followUser(Long currentUserId, Long targetUserId) {
-        log.info("User {} attempting to follow user {}", currentUserId, targetUserId);
+        log.debug("User {} attempting to follow user {}", currentUserId, targetUserId);
 
         // Kiểm tra không thể follow chính mình
         if (currentUserId.equals(targetUserId)) {
@@ -62,13 +63,13 @@ public class FollowServiceImpl implements FollowService {
         // Publish event để tạo notification
         eventPublisher.publishEvent(new NewFollowerEvent(this, currentUserId, targetUserId));
 
-        log.info("User {} successfully followed user {}", currentUserId, targetUserId);
+        log.debug("User {} successfully followed user {}", currentUserId, targetUserId);
     }
 
     @Override
     @Transactional
     public void unfollowUser(Long currentUserId, Long targetUserId) {
-        log.info("User {} attempting to unfollow user {}", currentUserId, targetUserId);
+        log.debug("User {} attempting to unfollow user {}", currentUserId, targetUserId);
 
         // Kiểm tra không thể unfollow chính mình
         if (currentUserId.equals(targetUserId)) {
@@ -83,13 +84,13 @@ public class FollowServiceImpl implements FollowService {
         // Xóa follow relationship
         followerRepository.deleteByFollowerIdAndFollowingId(currentUserId, targetUserId);
 
-        log.info("User {} successfully unfollowed user {}", currentUserId, targetUserId);
+        log.debug("User {} successfully unfollowed user {}", currentUserId, targetUserId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<FollowResponse> getFollowers(Long userId, Long currentUserId, int page, int size) {
-        log.info("Getting followers for user {}", userId);
+        log.debug("Getting followers for user {}", userId);
 
         // Kiểm tra user tồn tại
         if (!userRepository.existsById(userId)) {
@@ -97,7 +98,7 @@ public class FollowServiceImpl implements FollowService {
         }
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<User> followers = followerRepository.findFollowersByUserId(userId, pageable);
+        Page<FollowUserSummary> followers = followerRepository.findFollowersByUserId(userId, pageable);
 
         return followers.map(follower -> mapToFollowResponse(follower, currentUserId));
     }
@@ -105,7 +106,7 @@ public class FollowServiceImpl implements FollowService {
     @Override
     @Transactional(readOnly = true)
     public Page<FollowResponse> getFollowing(Long userId, Long currentUserId, int page, int size) {
-        log.info("Getting following for user {}", userId);
+        log.debug("Getting following for user {}", userId);
 
         // Kiểm tra user tồn tại
         if (!userRepository.existsById(userId)) {
@@ -113,7 +114,7 @@ public class FollowServiceImpl implements FollowService {
         }
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<User> following = followerRepository.findFollowingByUserId(userId, pageable);
+        Page<FollowUserSummary> following = followerRepository.findFollowingByUserId(userId, pageable);
 
         return following.map(user -> mapToFollowResponse(user, currentUserId));
     }
@@ -121,7 +122,7 @@ public class FollowServiceImpl implements FollowService {
     @Override
     @Transactional(readOnly = true)
     public FollowStatsResponse getFollowStats(Long userId, Long currentUserId) {
-        log.info("Getting follow stats for user {}", userId);
+        log.debug("Getting follow stats for user {}", userId);
 
         // Kiểm tra user tồn tại
         if (!userRepository.existsById(userId)) {
@@ -148,20 +149,20 @@ public class FollowServiceImpl implements FollowService {
     }
 
     /**
-     * Helper method để map User entity sang FollowResponse
+     * Helper method để map FollowUserSummary sang FollowResponse
      */
-    private FollowResponse mapToFollowResponse(User user, Long currentUserId) {
+    private FollowResponse mapToFollowResponse(FollowUserSummary user, Long currentUserId) {
         Boolean isFollowing = currentUserId != null && 
-                followerRepository.existsByFollowerIdAndFollowingId(currentUserId, user.getId());
+                followerRepository.existsByFollowerIdAndFollowingId(currentUserId, user.userId());
         
         Boolean isFollower = currentUserId != null && 
-                followerRepository.existsByFollowerIdAndFollowingId(user.getId(), currentUserId);
+                followerRepository.existsByFollowerIdAndFollowingId(user.userId(), currentUserId);
 
         return FollowResponse.builder()
-                .userId(user.getId())
-                .username(user.getUsername())
-                .fullName(user.getFullName())
-                .avatarUrl(user.getAvatarUrl())
+                .userId(user.userId())
+                .username(user.username())
+                .fullName(user.fullName())
+                .avatarUrl(user.avatarUrl())
                 .isFollowing(isFollowing)
                 .isFollower(isFollower)
                 .build();
@@ -2,12 +2,15 @@ package com.example.backend.service.impl;
 
 import com.example.backend.entity.Like;
 import com.example.backend.entity.LikeId;
+import com.example.backend.event.NewLikeEvent;
+import com.example.backend.event.PostChangedEvent;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.repository.LikeRepository;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.service.LikeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +20,7 @@ public class LikeServiceImpl implements LikeService {
     
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -35,6 +39,10 @@ public class LikeServiceImpl implements LikeService {
         Like like = new Like();
         like.setId(new LikeId(userId, postId));
         likeRepository.save(like);
+        
+        // Publish event để tạo notification
+        eventPublisher.publishEvent(new NewLikeEvent(this, userId, postId));
+        eventPublisher.publishEvent(new PostChangedEvent(this, postId, PostChangedEvent.Type.LIKE_ADDED));
     }
     
     @Override
@@ -53,6 +61,8 @@ public class LikeServiceImpl implements LikeService {
         // Delete like using composite key
         LikeId likeId = new LikeId(userId, postId);
         likeRepository.deleteById(likeId);
+        
+        eventPublisher.publishEvent(new PostChangedEvent(this, postId, PostChangedEvent.Type.LIKE_REMOVED));
     }
     
     @Override
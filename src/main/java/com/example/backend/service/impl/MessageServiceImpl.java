@@ -1,6 +1,7 @@
 
 package com.example.backend.service.impl;
 
+import com.example.backend.dto.projection.MessageSummary;
 import com.example.backend.dto.request.MessageRequest;
 import com.example.backend.dto.response.ConversationResponse;
 import com.example.backend.dto.response.MessageResponse;
@@ -8,6 +9,7 @@ import com.example.backend.entity.*;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ForbiddenException;
 import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.metrics.HotPathMetrics;
 import com.example.backend.repository.*;
 import com.example.backend.service.MessageService;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +21,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,11 +34,16 @@ public class MessageServiceImpl implements MessageService {
     private final ConversationRepository conversationRepository;
     private final ConversationParticipantRepository participantRepository;
     private final UserRepository userRepository;
+    private final HotPathMetrics hotPathMetrics;
 
     @Override
     @Transactional
     public MessageResponse sendMessage(Long senderId, MessageRequest messageRequest) {
-        log.info("User {} sending message to user {}", senderId, messageRequest.getRecipientId());
+        return hotPathMetrics.messageSend().record(() -> doSendMessage(senderId, messageRequest));
+    }
+
+    private MessageResponse doSendMessage(Long senderId, MessageRequest messageRequest) {
+        log.debug("User {} sending message to user {}", senderId, messageRequest.getRecipientId());
 
         // Kiểm tra không thể gửi tin cho chính mình
         if (senderId.equals(messageRequest.getRecipientId())) {
@@ -62,10 +71,9 @@ public class MessageServiceImpl implements MessageService {
         message = messageRepository.save(message);
 
         // Cập nhật updatedAt của conversation
-        conversation.setUpdatedAt(message.getCreatedAt());
-        conversationRepository.save(conversation);
+        conversationRepository.updateUpdatedAt(conversation.getId(), message.getCreatedAt());
 
-        log.info("Message sent successfully: {}", message.getId());
+        log.debug("Message sent successfully: {}", message.getId());
 
         return mapToMessageResponse(message);
     }
@@ -73,7 +81,11 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional(readOnly = true)
     public Page<ConversationResponse> getConversations(Long userId, int page, int size) {
-        log.info("Getting conversations for user {}", userId);
+        return hotPathMetrics.conversationList().record(() -> doGetConversations(userId, page, size));
+    }
+
+    private Page<ConversationResponse> doGetConversations(Long userId, int page, int size) {
+        log.debug("Getting conversations for user {}", userId);
 
         // Kiểm tra user tồn tại
         if (!userRepository.existsById(userId)) {
@@ -82,14 +94,33 @@ public class MessageServiceImpl implements MessageService {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "updatedAt"));
         Page<Conversation> conversations = conversationRepository.findByUserId(userId, pageable);
+        if (conversations.isEmpty()) {
+            return conversations.map(conversation -> mapToConversationResponse(conversation, null, null));
+        }
+
+        // Load người còn lại và tin nhắn cuối của cả trang bằng 2 query, thay vì 2 query cho mỗi conversation
+        List<Long> conversationIds = conversations.map(Conversation::getId).getContent();
+
+        Map<Long, User> otherUsers = new HashMap<>();
+        for (ConversationParticipant participant : participantRepository.findByConversationIdIn(conversationIds)) {
+            if (!participant.getUser().getId().equals(userId)) {
+                otherUsers.put(participant.getConversation().getId(), participant.getUser());
+            }
+        }
+
+        Map<Long, Message> lastMessages = new HashMap<>();
+        for (Message message : messageRepository.findLastMessagesByConversationIds(conversationIds)) {
+            lastMessages.put(message.getConversation().getId(), message);
+        }
 
-        return conversations.map(conversation -> mapToConversationResponse(conversation, userId));
+        return conversations.map(conversation -> mapToConversationResponse(
+                conversation, otherUsers.get(conversation.getId()), lastMessages.get(conversation.getId())));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<MessageResponse> getMessages(Long conversationId, Long userId, int page, int size) {
-        log.info("User {} getting messages from conversation {}", userId, conversationId);
+        log.debug("User {} getting messages from conversation {}", userId, conversationId);
 
         // Kiểm tra conversation tồn tại
         if (!conversationRepository.existsById(conversationId)) {
@@ -102,15 +133,31 @@ public class MessageServiceImpl implements MessageService {
         }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Message> messages = messageRepository.findByConversationId(conversationId, pageable);
+        Page<MessageSummary> messages = messageRepository.findByConversationId(conversationId, pageable);
 
         return messages.map(this::mapToMessageResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getMessagesAfter(Long conversationId, Long userId, Long afterMessageId, int limit) {
+        log.debug("User {} resuming conversation {} after message {}", userId, conversationId, afterMessageId);
+
+        // Kiểm tra user có quyền truy cập conversation không
+        if (!participantRepository.existsByConversationIdAndUserId(conversationId, userId)) {
+            throw new ForbiddenException("You do not have access to this conversation");
+        }
+
+        return messageRepository.findByConversationIdAfter(conversationId, afterMessageId, PageRequest.of(0, limit))
+                .stream()
+                .map(this::mapToMessageResponse)
+                .toList();
+    }
+
     @Override
     @Transactional
     public void deleteMessage(Long messageId, Long userId) {
-        log.info("User {} attempting to delete message {}", userId, messageId);
+        log.debug("User {} attempting to delete message {}", userId, messageId);
 
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found"));
@@ -121,7 +168,7 @@ public class MessageServiceImpl implements MessageService {
         }
 
         messageRepository.delete(message);
-        log.info("Message {} deleted successfully", messageId);
+        log.debug("Message {} deleted successfully", messageId);
     }
 
     /**
@@ -157,7 +204,7 @@ public class MessageServiceImpl implements MessageService {
         participantRepository.save(participant1);
         participantRepository.save(participant2);
 
-        log.info("Created new conversation: {}", conversation.getId());
+        log.debug("Created new conversation: {}", conversation.getId());
         return conversation;
     }
 
@@ -177,24 +224,28 @@ public class MessageServiceImpl implements MessageService {
                 .build();
     }
 
+    /**
+     * Helper: Map MessageSummary (projection của list query) sang MessageResponse
+     */
+    private MessageResponse mapToMessageResponse(MessageSummary message) {
+        return MessageResponse.builder()
+                .id(message.id())
+                .conversationId(message.conversationId())
+                .senderId(message.senderId())
+                .senderUsername(message.senderUsername())
+                .senderAvatarUrl(message.senderAvatarUrl())
+                .content(message.content())
+                .messageType(message.messageType())
+                .createdAt(message.createdAt())
+                .build();
+    }
+
     /**
      * Helper: Map Conversation entity sang ConversationResponse
+     * @param otherUser user còn lại trong conversation (không phải current user)
      */
-    private ConversationResponse mapToConversationResponse(Conversation conversation, Long currentUserId) {
-        // Lấy participants
-        List<ConversationParticipant> participants = participantRepository.findByConversationId(conversation.getId());
-
-        // Tìm user còn lại (không phải current user)
-        User otherUser = participants.stream()
-                .map(ConversationParticipant::getUser)
-                .filter(user -> !user.getId().equals(currentUserId))
-                .findFirst()
-                .orElse(null);
-
-        // Lấy tin nhắn cuối cùng
-        MessageResponse lastMessage = messageRepository.findLastMessageByConversationId(conversation.getId())
-                .map(this::mapToMessageResponse)
-                .orElse(null);
+    private ConversationResponse mapToConversationResponse(Conversation conversation, User otherUser, Message last) {
+        MessageResponse lastMessage = last != null ? mapToMessageResponse(last) : null;
 
         return ConversationResponse.builder()
                 .id(conversation.getId())
@@ -0,0 +1,284 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.repository.NotificationJdbcRepository;
+import com.example.backend.repository.NotificationPurgeQueueRepository;
+import com.example.backend.repository.NotificationPurgeQueueRepository.PurgeTask;
+import com.example.backend.repository.NotificationPurgeQueueRepository.TargetType;
+import com.example.backend.service.NotificationPurgeService;
+import com.example.backend.service.NotificationService;
+import com.example.backend.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Xóa notifications theo từng batch nhỏ, có nghỉ giữa các batch
+ * để không giữ lock lâu và không làm nghẽn replication
+ *
+ * Các job chạy trên purgeScheduler (AsyncConfig) vì một lần chạy có thể kéo dài vài phút.
+ */
+@Service
+@Slf4j
+public class NotificationPurgeServiceImpl implements NotificationPurgeService {
+
+    private final NotificationJdbcRepository notificationJdbcRepository;
+    private final NotificationPurgeQueueRepository purgeQueueRepository;
+    private final NotificationService notificationService;
+
+    private final int retentionDays;
+    private final long bucketMinutes;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final int maxBatchesPerRun;
+    private final long purgeGraceSeconds;
+    private final long orphanWindowMinutes;
+
+    private final Counter retentionDeleted;
+    private final Counter postDeleted;
+    private final Counter orphanDeleted;
+    private final Counter actorsDeleted;
+    private final Timer batchTimer;
+
+    // Vị trí quét của retention job (tiếp tục ở lần chạy sau nếu hết quota), export dưới dạng gauge
+    private final AtomicLong retentionCursor = new AtomicLong();
+    private final AtomicLong pendingPurges = new AtomicLong();
+
+    public NotificationPurgeServiceImpl(
+            NotificationJdbcRepository notificationJdbcRepository,
+            NotificationPurgeQueueRepository purgeQueueRepository,
+            NotificationService notificationService,
+            MeterRegistry meterRegistry,
+            @Value("${app.notification.retention.days:90}") int retentionDays,
+            @Value("${app.notification.aggregation.bucket-minutes:1440}") long bucketMinutes,
+            @Value("${app.notification.purge.batch-size:1000}") int batchSize,
+            @Value("${app.notification.purge.batch-pause:200}") long batchPauseMs,
+            @Value("${app.notification.purge.max-batches-per-run:500}") int maxBatchesPerRun,
+            @Value("${app.notification.purge.grace:60}") long purgeGraceSeconds,
+            @Value("${app.notification.purge.orphan-window:60}") long orphanWindowMinutes) {
+        this.notificationJdbcRepository = notificationJdbcRepository;
+        this.purgeQueueRepository = purgeQueueRepository;
+        this.notificationService = notificationService;
+        this.retentionDays = retentionDays;
+        this.bucketMinutes = bucketMinutes;
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.purgeGraceSeconds = purgeGraceSeconds;
+        this.orphanWindowMinutes = orphanWindowMinutes;
+
+        this.retentionDeleted = deletedCounter(meterRegistry, "retention");
+        this.postDeleted = deletedCounter(meterRegistry, "post");
+        this.orphanDeleted = deletedCounter(meterRegistry, "orphan");
+        this.actorsDeleted = Counter.builder("notifications.purge.actors.deleted")
+                .description("Actor rows of closed notification buckets deleted by the retention job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("notifications.purge.batch")
+                .description("Time spent in a single notification delete batch")
+                .register(meterRegistry);
+        Gauge.builder("notifications.purge.retention.cursor", retentionCursor, AtomicLong::get)
+                .description("Last notification ID scanned by the retention job")
+                .register(meterRegistry);
+        Gauge.builder("notifications.purge.queue.pending", pendingPurges, AtomicLong::get)
+                .description("Deleted posts whose notifications are still being purged")
+                .register(meterRegistry);
+    }
+
+    private static Counter deletedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notifications.purge.deleted")
+                .description("Notifications deleted by the background purge")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedulePostPurge(Long postId) {
+        purgeQueueRepository.enqueue(TargetType.POST, postId);
+    }
+
+    /**
+     * Xóa notifications đã đọc cũ hơn N ngày, quét theo từng khoảng primary key
+     * (mỗi statement chỉ chạm tối đa batchSize rows)
+     */
+    @Scheduled(fixedDelayString = "${app.notification.retention.interval:3600000}",
+               initialDelayString = "${app.notification.retention.initial-delay:60000}",
+               scheduler = "purgeScheduler")
+    public void purgeExpired() {
+        try {
+            Long minId = notificationJdbcRepository.findMinId();
+            Long maxId = notificationJdbcRepository.findMaxId();
+            if (minId == null || maxId == null) {
+                return;
+            }
+
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            // ID tăng theo thời gian: notifications sinh sau cutoff không cần quét
+            maxId = Math.min(maxId, SnowflakeIdGenerator.firstIdAt(cutoff));
+            long cursor = Math.max(retentionCursor.get(), minId - 1);
+            long deleted = 0;
+            int batches = 0;
+
+            while (cursor < maxId && batches < maxBatchesPerRun && !stopping()) {
+                long from = cursor;
+                Long next = notificationJdbcRepository.findIdAfter(cursor, batchSize);
+                long to = next != null ? Math.min(next, maxId) : maxId;
+                IntSupplier deleteBatch = () -> notificationJdbcRepository.deleteReadBefore(cutoff, from, to);
+                int count = batchTimer.record(deleteBatch);
+
+                retentionDeleted.increment(count);
+                deleted += count;
+                cursor = to;
+                retentionCursor.set(cursor);
+                batches++;
+                pause();
+            }
+
+            log.info("Notification retention: deleted {} rows older than {} (scanned up to id {} of {})",
+                    deleted, cutoff, cursor, maxId);
+
+            if (cursor >= maxId) {
+                // Đã quét hết bảng, lần chạy sau bắt đầu lại từ đầu
+                retentionCursor.set(0);
+            }
+        } catch (DataAccessException e) {
+            log.error("Notification retention purge failed", e);
+        }
+
+        purgeClosedBucketActors();
+    }
+
+    /**
+     * Actor chỉ cần khi bucket còn mở; giữ thêm một bucket để không xóa nhầm bucket vừa đóng
+     */
+    private void purgeClosedBucketActors() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(2 * bucketMinutes);
+            deleteInBatches(() -> notificationJdbcRepository.deleteActorsBefore(cutoff, batchSize),
+                    actorsDeleted, maxBatchesPerRun);
+        } catch (DataAccessException e) {
+            log.error("Notification actor purge failed", e);
+        }
+    }
+
+    /**
+     * Xử lý hàng đợi purge của post đã bị xóa.
+     * Task chỉ được xử lý sau khoảng grace để notification của post còn trong buffer / executor
+     * kịp flush trước; notification đến muộn hơn nữa được dọn bởi sweepOrphans.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.purge.interval:10000}", scheduler = "purgeScheduler")
+    public void processPurgeQueue() {
+        try {
+            int budget = maxBatchesPerRun;
+
+            for (PurgeTask task : purgeQueueRepository.findReady(purgeGraceSeconds, 10)) {
+                Long targetId = task.getTargetId();
+                List<Long> unreadRecipients = notificationJdbcRepository.findUnreadRecipientIdsByPostId(targetId);
+                budget = deleteInBatches(
+                        () -> notificationJdbcRepository.deleteByPostId(targetId, batchSize), postDeleted, budget);
+                notificationService.refreshUnreadCounts(unreadRecipients);
+
+                if (budget < 0) {
+                    // Hết quota batch của lần chạy này, phần còn lại xử lý ở lần sau
+                    break;
+                }
+                purgeQueueRepository.delete(task.getId());
+                log.debug("Purged notifications of {} {}", task.getTargetType(), targetId);
+            }
+
+            pendingPurges.set(purgeQueueRepository.count());
+        } catch (DataAccessException e) {
+            log.error("Notification purge queue processing failed", e);
+        }
+    }
+
+    /**
+     * Xóa notifications mới tạo gần đây trỏ tới post đã bị xóa, quét theo từng khoảng primary key.
+     * Chỉ notification được flush sau khi purge của post đã chạy mới có thể thành orphan,
+     * nên chỉ cần quét các ID sinh trong orphan-window gần nhất.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.purge.orphan-interval:900000}",
+               initialDelayString = "${app.notification.purge.orphan-initial-delay:120000}",
+               scheduler = "purgeScheduler")
+    public void sweepOrphans() {
+        try {
+            Long maxId = notificationJdbcRepository.findMaxId();
+            if (maxId == null) {
+                return;
+            }
+
+            long cursor = SnowflakeIdGenerator.firstIdAt(LocalDateTime.now().minusMinutes(orphanWindowMinutes)) - 1;
+            long deleted = 0;
+            int batches = 0;
+            Set<Long> unreadRecipients = new HashSet<>();
+
+            while (cursor < maxId && batches < maxBatchesPerRun && !stopping()) {
+                long from = cursor;
+                Long next = notificationJdbcRepository.findIdAfter(cursor, batchSize);
+                long to = next != null ? Math.min(next, maxId) : maxId;
+                unreadRecipients.addAll(notificationJdbcRepository.findUnreadOrphanRecipientIds(from, to));
+                IntSupplier deleteBatch = () -> notificationJdbcRepository.deleteOrphans(from, to);
+                int count = batchTimer.record(deleteBatch);
+
+                orphanDeleted.increment(count);
+                deleted += count;
+                cursor = to;
+                batches++;
+                pause();
+            }
+
+            if (deleted > 0) {
+                log.info("Notification orphan sweep: deleted {} rows of deleted posts", deleted);
+            }
+            notificationService.refreshUnreadCounts(unreadRecipients);
+        } catch (DataAccessException e) {
+            log.error("Notification orphan sweep failed", e);
+        }
+    }
+
+    /**
+     * Xóa cho đến khi batch cuối nhỏ hơn batchSize
+     * @return số batch còn lại trong quota, -1 nếu dừng vì hết quota trước khi xóa xong
+     */
+    private int deleteInBatches(IntSupplier deleteBatch, Counter counter, int budget) {
+        while (budget > 0 && !stopping()) {
+            int count = batchTimer.record(deleteBatch);
+            counter.increment(count);
+            budget--;
+            if (count < batchSize) {
+                return budget;
+            }
+            pause();
+        }
+        return -1;
+    }
+
+    /**
+     * Scheduler ngắt thread khi shutdown; dừng vòng xóa thay vì chạy tiếp các batch không nghỉ
+     */
+    private static boolean stopping() {
+        return Thread.currentThread().isInterrupted();
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
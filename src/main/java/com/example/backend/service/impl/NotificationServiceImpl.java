@@ -1 +1,295 @@
 
+package com.example.backend.service.impl;
+
+import com.example.backend.dto.response.NotificationResponse;
+import com.example.backend.entity.Notification;
+import com.example.backend.entity.NotificationType;
+import com.example.backend.exception.ForbiddenException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.mapper.NotificationMapper;
+import com.example.backend.repository.NotificationJdbcRepository;
+import com.example.backend.repository.NotificationRepository;
+import com.example.backend.service.NotificationService;
+import com.example.backend.websocket.UnreadCountPublisher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class NotificationServiceImpl implements NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationJdbcRepository notificationJdbcRepository;
+    private final NotificationMapper notificationMapper;
+    private final UnreadCountPublisher unreadCountPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Buffer giới hạn giữa event listener và batch writer
+    private final BlockingQueue<Notification> buffer;
+    private final int batchSize;
+    // Độ rộng time bucket dùng để gộp notifications cùng loại trên cùng post
+    private final long bucketMinutes;
+
+    // Counter số notifications chưa đọc theo user, TTL giới hạn độ lệch nếu có cập nhật bị sót
+    private final Cache<Long, AtomicLong> unreadCounts;
+
+    public NotificationServiceImpl(
+            NotificationRepository notificationRepository,
+            NotificationJdbcRepository notificationJdbcRepository,
+            NotificationMapper notificationMapper,
+            UnreadCountPublisher unreadCountPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.notification.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.notification.batch-size:500}") int batchSize,
+            @Value("${app.notification.aggregation.bucket-minutes:1440}") long bucketMinutes,
+            @Value("${app.notification.unread-cache.max-size:50000}") long unreadCacheMaxSize,
+            @Value("${app.notification.unread-cache.ttl:600000}") long unreadCacheTtlInMs) {
+        this.notificationRepository = notificationRepository;
+        this.notificationJdbcRepository = notificationJdbcRepository;
+        this.notificationMapper = notificationMapper;
+        this.unreadCountPublisher = unreadCountPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.bucketMinutes = bucketMinutes;
+        this.unreadCounts = Caffeine.newBuilder()
+                .maximumSize(unreadCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(unreadCacheTtlInMs))
+                .build();
+    }
+
+    @Override
+    public void enqueue(Long recipientId, Long senderId, NotificationType type, Long postId) {
+        LocalDateTime now = LocalDateTime.now();
+        Notification notification = Notification.builder()
+                .recipientId(recipientId)
+                .senderId(senderId)
+                .type(type)
+                .postId(postId)
+                .bucketKey(bucketKey(type, postId, now))
+                .createdAt(now)
+                .build();
+
+        if (!buffer.offer(notification)) {
+            log.warn("Notification buffer full, dropping {} notification for user {}", type, recipientId);
+        }
+    }
+
+    /**
+     * Ghi các notifications trong buffer xuống DB theo batch.
+     * Các notifications cùng bucket trong một batch được gộp trước khi upsert.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.flush-interval:500}")
+    public void flush() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            Map<String, List<Notification>> buckets = groupByBucket(batch);
+            List<Notification> written = write(batch, buckets);
+            log.debug("Flushed {} notifications as {} rows", batch.size(), written.size());
+            if (!written.isEmpty()) {
+                try {
+                    refreshUnreadCounts(written);
+                } catch (DataAccessException e) {
+                    log.error("Failed to refresh unread counts after flush", e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Ghi cả batch trong một transaction: actor của từng hành động vào notification_actors,
+     * sau đó upsert mỗi bucket một row (actor_count và latest_actor_ids được tính lại từ
+     * notification_actors). Nếu batch lỗi (ví dụ một row tham chiếu post / user vừa bị xóa)
+     * thì rollback và ghi lại từng bucket, chỉ bỏ các bucket thực sự lỗi.
+     * @return row mới nhất của các bucket đã được ghi
+     */
+    private List<Notification> write(List<Notification> actions, Map<String, List<Notification>> buckets) {
+        List<Notification> rows = new ArrayList<>(buckets.size());
+        for (List<Notification> bucket : buckets.values()) {
+            rows.add(bucket.get(bucket.size() - 1));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                notificationJdbcRepository.batchInsertActors(actions, batchSize);
+                notificationJdbcRepository.batchUpsert(rows, batchSize);
+            });
+            return rows;
+        } catch (DataAccessException e) {
+            log.warn("Failed to write batch of {} notifications, retrying row by row", rows.size(), e);
+        }
+
+        List<Notification> written = new ArrayList<>(rows.size());
+        for (List<Notification> bucket : buckets.values()) {
+            Notification latest = bucket.get(bucket.size() - 1);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    notificationJdbcRepository.batchInsertActors(bucket, batchSize);
+                    notificationJdbcRepository.upsert(latest);
+                });
+                written.add(latest);
+            } catch (DataAccessException e) {
+                log.warn("Dropping {} notification for user {}: {}",
+                        latest.getType(), latest.getRecipientId(), e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Nhóm các notifications cùng (recipient, bucket) theo thứ tự thời gian,
+     * phần tử cuối của mỗi nhóm là hành động mới nhất (sender và created_at của row)
+     */
+    private Map<String, List<Notification>> groupByBucket(List<Notification> batch) {
+        Map<String, List<Notification>> byBucket = new LinkedHashMap<>();
+        for (Notification notification : batch) {
+            String key = notification.getRecipientId() + "|" + notification.getBucketKey();
+            byBucket.computeIfAbsent(key, k -> new ArrayList<>()).add(notification);
+        }
+        return byBucket;
+    }
+
+    /**
+     * Upsert có thể tạo row mới, mở lại row đã đọc hoặc chỉ cộng dồn row chưa đọc,
+     * nên đếm lại số chưa đọc của các recipient vừa bị ảnh hưởng
+     */
+    private void refreshUnreadCounts(List<Notification> written) {
+        Set<Long> recipientIds = new HashSet<>();
+        for (Notification notification : written) {
+            recipientIds.add(notification.getRecipientId());
+        }
+        refreshUnreadCounts(recipientIds);
+    }
+
+    /**
+     * Đếm lại bằng một query GROUP BY, cập nhật counter và push số mới cho các user
+     */
+    @Override
+    public void refreshUnreadCounts(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        // Đọc từ primary (transaction ghi): replica có thể chưa thấy thay đổi vừa commit
+        List<Object[]> rows = transactionTemplate.execute(
+                status -> notificationRepository.countUnreadByRecipientIds(userIds));
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+
+        for (Long userId : userIds) {
+            long count = counts.getOrDefault(userId, 0L);
+            unreadCounts.put(userId, new AtomicLong(count));
+            unreadCountPublisher.publish(userId, count);
+        }
+    }
+
+    private String bucketKey(NotificationType type, Long postId, LocalDateTime time) {
+        long bucket = time.toEpochSecond(ZoneOffset.UTC) / 60 / bucketMinutes;
+        return type.name() + ":" + (postId != null ? postId : 0) + ":" + bucket;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<NotificationResponse> getNotifications(Long userId, int page, int size) {
+        log.debug("Getting notifications for user {}", userId);
+
+        Pageable pageable = PageRequest.of(page, size);
+        Page<Notification> notifications = notificationRepository.findByRecipientId(userId, pageable);
+
+        return notifications.map(notificationMapper::toResponse);
+    }
+
+    @Override
+    @Transactional
+    public void markAsRead(Long notificationId, Long userId) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
+
+        // Chỉ người nhận mới được đánh dấu đã đọc
+        if (!notification.getRecipientId().equals(userId)) {
+            throw new ForbiddenException("You can only update your own notifications");
+        }
+
+        if (notificationRepository.markAsRead(notificationId, userId) > 0) {
+            // Chỉ cập nhật counter và push sau khi commit, rollback thì counter giữ nguyên
+            afterCommit(() -> {
+                AtomicLong counter = unreadCounts.getIfPresent(userId);
+                if (counter != null) {
+                    unreadCountPublisher.publish(userId, counter.updateAndGet(count -> Math.max(0, count - 1)));
+                }
+            });
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId);
+        log.debug("Marked {} notifications as read for user {}", updated, userId);
+
+        afterCommit(() -> {
+            unreadCounts.put(userId, new AtomicLong(0));
+            if (updated > 0) {
+                unreadCountPublisher.publish(userId, 0);
+            }
+        });
+    }
+
+    /**
+     * Chạy action sau khi transaction hiện tại commit (chạy ngay nếu không có transaction)
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        return unreadCounts.get(userId,
+                id -> new AtomicLong(notificationRepository.countByRecipientIdAndIsReadFalse(id))).get();
+    }
+}
@@ -1,25 +1,36 @@
 
 package com.example.backend.service.impl;
 
+import com.example.backend.cache.PostResponseCache;
+import com.example.backend.cache.PostResponseCache.CachedPost;
+import com.example.backend.dto.projection.PostSummary;
 import com.example.backend.dto.request.PostCreateRequest;
+import com.example.backend.datasource.ReadWriteRoutingDataSource;
 import com.example.backend.dto.response.PostResponse;
 import com.example.backend.entity.Post;
 import com.example.backend.entity.User;
+import com.example.backend.event.PostChangedEvent;
 import com.example.backend.exception.BadRequestException;
 import com.example.backend.exception.ForbiddenException;
 import com.example.backend.exception.ResourceNotFoundException;
 import com.example.backend.mapper.PostMapper;
+import com.example.backend.metrics.HotPathMetrics;
 import com.example.backend.repository.CommentRepository;
 import com.example.backend.repository.LikeRepository;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.service.FileUploadService;
+import com.example.backend.service.NotificationPurgeService;
 import com.example.backend.service.PostService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -32,7 +43,12 @@ public class PostServiceImpl implements PostService {
     private final LikeRepository likeRepository;
     private final CommentRepository commentRepository;
     private final FileUploadService fileUploadService;
+    private final NotificationPurgeService notificationPurgeService;
     private final PostMapper postMapper;
+    private final HotPathMetrics hotPathMetrics;
+    private final PostResponseCache postResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
     
     @Override
     public PostResponse createPost(PostCreateRequest request, MultipartFile image, Long currentUserId) {
@@ -59,17 +75,39 @@ public class PostServiceImpl implements PostService {
         return postMapper.toResponse(savedPost, 0L, 0L, false);
     }
     
+    /**
+     * Không chạy trong transaction của class: cache miss mở transaction nạp entry, sau đó trạng thái like
+     * dùng một transaction read-only ngắn khác, nên mỗi request chỉ giữ tối đa một connection
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PostResponse getPostById(Long postId, Long currentUserId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post không tồn tại"));
+        // Post, tác giả và counts lấy từ PostResponseCache, chỉ trạng thái like là query theo người xem
+        CachedPost cached = postResponseCache.get(postId, this::loadCachedPost);
         
-        Long likeCount = likeRepository.countByPostId(postId);
-        Long commentCount = commentRepository.countByPostId(postId);
-        Boolean isLiked = currentUserId != null && likeRepository.existsByUserIdAndPostId(currentUserId, postId);
+        Boolean isLiked = currentUserId != null && readOnlyTransaction().execute(
+                status -> likeRepository.existsByUserIdAndPostId(currentUserId, postId));
         
-        return postMapper.toResponse(post, likeCount, commentCount, isLiked);
+        return postMapper.toResponse(cached.post(), cached.likeCount(), cached.commentCount(), isLiked);
+    }
+    
+    /**
+     * Nạp entry từ primary: entry sống đến hết TTL và chỉ được patch bằng delta,
+     * nên nạp từ replica đang trễ sẽ giữ count / caption cũ cho mọi người xem
+     */
+    private CachedPost loadCachedPost(Long postId) {
+        return ReadWriteRoutingDataSource.readFromPrimary(() -> readOnlyTransaction().execute(status -> {
+            PostSummary post = postRepository.findSummaryById(postId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post không tồn tại"));
+            
+            return new CachedPost(post, likeRepository.countByPostId(postId), commentRepository.countByPostId(postId));
+        }));
+    }
+    
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
     }
     
     @Override
@@ -80,27 +118,30 @@ public class PostServiceImpl implements PostService {
             throw new ResourceNotFoundException("User không tồn tại");
         }
         
-        Page<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        Page<PostSummary> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
         
-        return posts.map(post -> {
-            Long likeCount = likeRepository.countByPostId(post.getId());
-            Long commentCount = commentRepository.countByPostId(post.getId());
-            Boolean isLiked = currentUserId != null && 
-                    likeRepository.existsByUserIdAndPostId(currentUserId, post.getId());
-            
-            return postMapper.toResponse(post, likeCount, commentCount, isLiked);
-        });
+        return posts.map(post -> hydrate(post, currentUserId));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<PostResponse> getFeedPosts(Long currentUserId, Pageable pageable) {
-        Page<Post> posts = postRepository.findFeedPosts(currentUserId, pageable);
-        
-        return posts.map(post -> {
-            Long likeCount = likeRepository.countByPostId(post.getId());
-            Long commentCount = commentRepository.countByPostId(post.getId());
-            Boolean isLiked = likeRepository.existsByUserIdAndPostId(currentUserId, post.getId());
+        return hotPathMetrics.feedBuild().record(() -> {
+            Page<PostSummary> posts = postRepository.findFeedPosts(currentUserId, pageable);
+            
+            return posts.map(post -> hydrate(post, currentUserId));
+        });
+    }
+    
+    /**
+     * Gắn like count, comment count và trạng thái like của user hiện tại vào post
+     */
+    private PostResponse hydrate(PostSummary post, Long currentUserId) {
+        return hotPathMetrics.postHydration().record(() -> {
+            Long likeCount = likeRepository.countByPostId(post.id());
+            Long commentCount = commentRepository.countByPostId(post.id());
+            Boolean isLiked = currentUserId != null && 
+                    likeRepository.existsByUserIdAndPostId(currentUserId, post.id());
             
             return postMapper.toResponse(post, likeCount, commentCount, isLiked);
         });
@@ -121,11 +162,16 @@ public class PostServiceImpl implements PostService {
         
         // Xóa post (cascade sẽ tự động xóa likes và comments)
         postRepository.delete(post);
+
+        // Notifications của post được xóa nền theo batch
+        notificationPurgeService.schedulePostPurge(postId);
+        
+        eventPublisher.publishEvent(new PostChangedEvent(this, postId, PostChangedEvent.Type.DELETED));
     }
     
     @Override
     public PostResponse updatePostCaption(Long postId, String caption, Long currentUserId) {
-        Post post = postRepository.findById(postId)
+        Post post = postRepository.findWithUserById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post không tồn tại"));
         
         // Kiểm tra quyền
@@ -136,6 +182,8 @@ public class PostServiceImpl implements PostService {
         post.setCaption(caption);
         Post updatedPost = postRepository.save(post);
         
+        eventPublisher.publishEvent(new PostChangedEvent(this, postId, PostChangedEvent.Type.CAPTION_UPDATED));
+        
         Long likeCount = likeRepository.countByPostId(postId);
         Long commentCount = commentRepository.countByPostId(postId);
         Boolean isLiked = likeRepository.existsByUserIdAndPostId(currentUserId, postId);
@@ -146,15 +194,8 @@ public class PostServiceImpl implements PostService {
 @Override
 @Transactional(readOnly = true)
 public Page<PostResponse> searchPosts(String keyword, Long currentUserId, Pageable pageable) {
-    Page<Post> posts = postRepository.searchByCaption(keyword, pageable);  // ← ĐỔI TÊN METHOD
+    Page<PostSummary> posts = postRepository.searchByCaption(keyword, pageable);  // ← ĐỔI TÊN METHOD
     
-    return posts.map(post -> {
-        Long likeCount = likeRepository.countByPostId(post.getId());
-        Long commentCount = commentRepository.countByPostId(post.getId());
-        Boolean isLiked = currentUserId != null && 
-                likeRepository.existsByUserIdAndPostId(currentUserId, post.getId());
-        
-        return postMapper.toResponse(post, likeCount, commentCount, isLiked);
-    });
+    return posts.map(post -> hydrate(post, currentUserId));
 }
 }
\ No newline at end of file
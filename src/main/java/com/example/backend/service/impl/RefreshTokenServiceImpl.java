@@ -0,0 +1,122 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.entity.RefreshToken;
+import com.example.backend.exception.UnauthorizedException;
+import com.example.backend.repository.RefreshTokenRepository;
+import com.example.backend.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationInMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${app.jwt.refresh-expiration:2592000000}") long refreshExpirationInMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationInMs = refreshExpirationInMs;
+    }
+
+    @Override
+    @Transactional
+    public IssuedRefreshToken issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public IssuedRefreshToken rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (current.getRevoked()) {
+            throw reuseDetected(current);
+        }
+
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        // Thu hồi có điều kiện: nếu request khác vừa rotate cùng token thì coi như dùng lại
+        if (refreshTokenRepository.revokeIfActive(current.getId()) == 0) {
+            throw reuseDetected(current);
+        }
+        return create(current.getUserId(), current.getFamilyId());
+    }
+
+    /**
+     * Token đã rotate bị dùng lại -> có thể bị đánh cắp, thu hồi cả family
+     */
+    private UnauthorizedException reuseDetected(RefreshToken token) {
+        int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId());
+        log.warn("Reuse of revoked refresh token for user {}, revoked {} tokens in family",
+                token.getUserId(), revoked);
+        return new UnauthorizedException("Refresh token has been revoked");
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(refreshToken -> refreshTokenRepository.revokeFamily(refreshToken.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    /**
+     * Xóa refresh tokens đã hết hạn
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-interval:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private IssuedRefreshToken create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationInMs)))
+                .build();
+        refreshTokenRepository.save(refreshToken);
+
+        return new IssuedRefreshToken(userId, token);
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
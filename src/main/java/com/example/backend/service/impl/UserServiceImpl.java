@@ -1,11 +1,14 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.cache.PostResponseCache;
 import com.example.backend.dto.request.PasswordChangeRequest;
 import com.example.backend.dto.request.UserUpdateRequest;
 import com.example.backend.dto.response.UserResponse;
 import com.example.backend.entity.User;
 import com.example.backend.mapper.UserMapper;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.UserPrincipalCache;
+import com.example.backend.service.RefreshTokenService;
 import com.example.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +25,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final PostResponseCache postResponseCache;
     
     @Override
     public UserResponse getCurrentUser(Long userId) {
@@ -68,6 +74,8 @@ public class UserServiceImpl implements UserService {
         }
         
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evict(userId);
+        postResponseCache.evictAuthor(userId);
         return userMapper.toUserResponse(updatedUser, userId);
     }
     
@@ -83,6 +91,10 @@ public class UserServiceImpl implements UserService {
         
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userPrincipalCache.evict(userId);
+        
+        // Đăng xuất các phiên khác: refresh tokens cũ không dùng được nữa
+        refreshTokenService.revokeAllForUser(userId);
     }
     
     @Override
@@ -0,0 +1,36 @@
+package com.example.backend.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Giới hạn log trên hot path: tối đa một dòng mỗi khoảng thời gian,
+ * các sự kiện bị bỏ qua được đếm và báo lại ở dòng log kế tiếp
+ *
+ * Cách dùng:
+ *   long skipped = sampler.sample();
+ *   if (skipped >= 0) log.info("event=... skipped={}", ..., skipped);
+ */
+public class LogSampler {
+
+    private final long intervalNanos;
+    private final AtomicLong nextAllowed = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * @return -1 nếu sự kiện này không được log, ngược lại là số sự kiện đã bị bỏ qua kể từ lần log trước
+     */
+    public long sample() {
+        long now = System.nanoTime();
+        long allowedAt = nextAllowed.get();
+        if (now - allowedAt >= 0 && nextAllowed.compareAndSet(allowedAt, now + intervalNanos)) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return -1;
+    }
+}
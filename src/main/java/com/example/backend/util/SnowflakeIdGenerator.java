@@ -0,0 +1,85 @@
+package com.example.backend.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sinh ID 64-bit tăng theo thời gian kiểu Snowflake, lock-free
+ *
+ * Bố cục 53 bit (vẫn an toàn với Number của JavaScript):
+ * 41 bit millis từ EPOCH | 4 bit node ID | 8 bit sequence trong cùng millisecond.
+ * ID sinh sau luôn lớn hơn ID sinh trước trên cùng node. Khi hết sequence hoặc
+ * đồng hồ lùi, generator "mượn" millisecond kế tiếp thay vì chờ.
+ */
+public class SnowflakeIdGenerator {
+
+    // 2025-01-01T00:00:00Z, 41 bit millis đủ dùng khoảng 69 năm
+    public static final long EPOCH = 1_735_689_600_000L;
+
+    public static final int NODE_BITS = 4;
+    public static final int SEQUENCE_BITS = 8;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    // Instance dùng chung cho Hibernate generator (không phải Spring bean nên không inject được)
+    private static volatile SnowflakeIdGenerator shared;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+
+    // (millis - EPOCH) << SEQUENCE_BITS | sequence của ID cuối cùng
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * Đồng hồ (epoch millis) thay được để test tràn sequence / đồng hồ lùi
+     */
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + " but was " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public static void setShared(SnowflakeIdGenerator generator) {
+        shared = generator;
+    }
+
+    public static SnowflakeIdGenerator shared() {
+        SnowflakeIdGenerator generator = shared;
+        if (generator == null) {
+            throw new IllegalStateException("Snowflake ID generator has not been configured");
+        }
+        return generator;
+    }
+
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            // Cùng millisecond (hoặc đồng hồ lùi): tăng sequence, tràn sang millisecond kế tiếp
+            next = now > current ? now : current + 1;
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * ID nhỏ nhất có thể được sinh tại thời điểm cho trước (mọi ID sinh sau đó đều >= giá trị này)
+     */
+    public static long firstIdAt(LocalDateTime time) {
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Math.max(0, millis - EPOCH) << TIMESTAMP_SHIFT;
+    }
+}
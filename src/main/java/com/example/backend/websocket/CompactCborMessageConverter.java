@@ -0,0 +1,136 @@
+package com.example.backend.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Message converter outbound encode payload thành CBOR với field key rút gọn
+ *
+ * Chỉ được dùng khi header content-type là application/octet-stream (do session WebSocket thuần
+ * đã negotiate CBOR), các frame khác vẫn đi qua converter JSON mặc định. Payload byte[] có sẵn
+ * không bị encode lại mà để ByteArrayMessageConverter xử lý.
+ */
+@Component
+public class CompactCborMessageConverter extends AbstractMessageConverter {
+
+    /**
+     * Bảng rút gọn field key cho các DTO chat
+     */
+    static final Map<String, String> COMPACT_KEYS = Map.ofEntries(
+            Map.entry("id", "i"),
+            Map.entry("conversationId", "c"),
+            Map.entry("senderId", "s"),
+            Map.entry("senderUsername", "u"),
+            Map.entry("senderAvatarUrl", "a"),
+            Map.entry("content", "m"),
+            Map.entry("messageType", "t"),
+            Map.entry("createdAt", "d"),
+            Map.entry("sequence", "q"),
+            Map.entry("sequenceEpoch", "qe"),
+            Map.entry("epoch", "e"),
+            Map.entry("currentSequence", "cq"),
+            Map.entry("resyncRequired", "rs"),
+            Map.entry("fromBuffer", "fb"),
+            Map.entry("hasMore", "hm"),
+            Map.entry("messages", "ms")
+    );
+
+    private final ObjectMapper objectMapper;
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final StompSessionEncodingRegistry encodingRegistry;
+
+    public CompactCborMessageConverter(ObjectMapper objectMapper, StompSessionEncodingRegistry encodingRegistry) {
+        super(PayloadEncoding.CBOR.getMimeType());
+        this.objectMapper = objectMapper;
+        this.encodingRegistry = encodingRegistry;
+        // Không nhận frame thiếu content-type, tránh chiếm đường JSON mặc định
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return !byte[].class.equals(clazz);
+    }
+
+    @Override
+    protected boolean canConvertFrom(Message<?> message, @Nullable Class<?> targetClass) {
+        // Inbound frame từ client vẫn là JSON
+        return false;
+    }
+
+    @Override
+    @Nullable
+    protected Object convertToInternal(Object payload, @Nullable MessageHeaders headers, @Nullable Object conversionHint) {
+        try {
+            return encode(payload, headers != null ? SimpMessageHeaderAccessor.getSessionId(headers) : null);
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("Could not encode CBOR payload: " + e.getMessage(), e);
+        }
+    }
+
+    byte[] encode(Object payload, @Nullable String sessionId) throws JsonProcessingException {
+        JsonNode tree = objectMapper.valueToTree(payload);
+        StompSessionEncodingRegistry.SessionEncoding session = encodingRegistry.get(sessionId);
+        boolean senderCache = session != null && session.isSenderCacheEnabled();
+        return cborMapper.writeValueAsBytes(compact(tree, senderCache ? session : null));
+    }
+
+    private JsonNode compact(JsonNode node, @Nullable StompSessionEncodingRegistry.SessionEncoding session) {
+        if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, compact(array.get(i), session));
+            }
+            return array;
+        }
+        if (!(node instanceof ObjectNode object)) {
+            return node;
+        }
+
+        if (session != null && object.hasNonNull("senderId")) {
+            boolean alreadySent = session.markSenderSent(
+                    object.get("senderId").asLong(),
+                    object.path("senderUsername").asText(null),
+                    object.path("senderAvatarUrl").asText(null));
+            if (alreadySent) {
+                object.remove("senderUsername");
+                object.remove("senderAvatarUrl");
+            }
+        }
+
+        ObjectNode result = cborMapper.createObjectNode();
+        List<String> fieldNames = new ArrayList<>();
+        for (Iterator<String> it = object.fieldNames(); it.hasNext(); ) {
+            fieldNames.add(it.next());
+        }
+        for (String fieldName : fieldNames) {
+            JsonNode value = object.get(fieldName);
+            if (value.isNull()) {
+                continue;
+            }
+            result.set(COMPACT_KEYS.getOrDefault(fieldName, fieldName), compact(value, session));
+        }
+        return result;
+    }
+
+    @Override
+    @Nullable
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, @Nullable Object conversionHint) {
+        return null;
+    }
+}
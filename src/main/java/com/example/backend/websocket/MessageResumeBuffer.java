@@ -0,0 +1,175 @@
+package com.example.backend.websocket;
+
+import com.example.backend.dto.response.MessageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffer trong bộ nhớ để replay tin nhắn khi client reconnect WebSocket.
+ *
+ * Mỗi conversation có sequence number tăng dần kèm một epoch; epoch đổi mỗi khi counter
+ * được tạo lại (server restart hoặc counter bị evict) nên cursor (epoch, sequence) cũ không
+ * bao giờ khớp nhầm với counter mới. Mỗi user có một ring buffer giới hạn chứa các tin nhắn
+ * gần nhất đã push cho user đó. Client gửi lại cursor cuối cùng đã nhận và chỉ nhận phần
+ * bị thiếu; nếu khoảng trống vượt quá buffer thì caller phải fallback về DB, nếu epoch
+ * không khớp thì client phải resync toàn bộ.
+ */
+@Component
+public class MessageResumeBuffer {
+
+    private final Cache<Long, ConversationSequence> conversationSequences;
+    private final Cache<Long, UserBuffer> userBuffers;
+    private final int bufferSizePerUser;
+
+    public MessageResumeBuffer(
+            @Value("${app.websocket.resume-buffer.size-per-user:256}") int bufferSizePerUser,
+            @Value("${app.websocket.resume-buffer.max-users:10000}") long maxUsers,
+            @Value("${app.websocket.resume-buffer.max-conversations:50000}") long maxConversations) {
+        this.bufferSizePerUser = bufferSizePerUser;
+        this.userBuffers = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+        // Evict một sequence counter là an toàn: counter mới có epoch khác,
+        // client giữ cursor của epoch cũ sẽ nhận tín hiệu resync
+        this.conversationSequences = Caffeine.newBuilder()
+                .maximumSize(maxConversations)
+                .build();
+    }
+
+    /**
+     * Cấp sequence tiếp theo cho conversation và gán (epoch, sequence) vào message
+     */
+    public void assignSequence(MessageResponse message) {
+        ConversationSequence sequence =
+                conversationSequences.get(message.getConversationId(), id -> new ConversationSequence());
+        message.setSequenceEpoch(sequence.epoch);
+        message.setSequence(sequence.counter.incrementAndGet());
+    }
+
+    /**
+     * Epoch hiện tại của counter (null nếu conversation chưa có counter)
+     */
+    public Long currentEpoch(Long conversationId) {
+        ConversationSequence sequence = conversationSequences.getIfPresent(conversationId);
+        return sequence != null ? sequence.epoch : null;
+    }
+
+    /**
+     * Sequence mới nhất đã cấp cho conversation (0 nếu chưa có)
+     */
+    public long currentSequence(Long conversationId) {
+        ConversationSequence sequence = conversationSequences.getIfPresent(conversationId);
+        return sequence != null ? sequence.counter.get() : 0L;
+    }
+
+    /**
+     * Ghi nhận tin nhắn đã push cho user
+     */
+    public void append(Long userId, MessageResponse message) {
+        userBuffers.get(userId, id -> new UserBuffer(bufferSizePerUser)).append(message);
+    }
+
+    /**
+     * Lấy các tin nhắn có sequence > lastSequence trong conversation.
+     * Trả về RESYNC nếu epoch của cursor không khớp counter hiện tại,
+     * FALLBACK nếu buffer không còn giữ đủ khoảng trống (cần fallback DB).
+     */
+    public Replay replay(Long userId, Long conversationId, Long epoch, long lastSequence) {
+        ConversationSequence sequence = conversationSequences.getIfPresent(conversationId);
+        if (sequence == null) {
+            // Chưa cấp sequence nào: chỉ cursor rỗng là hợp lệ
+            return epoch == null && lastSequence == 0
+                    ? Replay.messages(List.of())
+                    : Replay.RESYNC;
+        }
+        if (epoch == null ? lastSequence != 0 : epoch != sequence.epoch) {
+            return Replay.RESYNC;
+        }
+
+        long current = sequence.counter.get();
+        if (lastSequence == current) {
+            return Replay.messages(List.of());
+        }
+        if (lastSequence > current) {
+            return Replay.RESYNC;
+        }
+
+        UserBuffer buffer = userBuffers.getIfPresent(userId);
+        if (buffer == null) {
+            return Replay.FALLBACK;
+        }
+
+        List<MessageResponse> missed = buffer.collect(conversationId, sequence.epoch, lastSequence, current);
+        if (missed.size() != current - lastSequence) {
+            return Replay.FALLBACK;
+        }
+        return Replay.messages(missed);
+    }
+
+    /**
+     * Kết quả replay: danh sách tin nhắn bị thiếu, cần fallback DB, hoặc cần resync toàn bộ
+     */
+    public record Replay(Status status, List<MessageResponse> messages) {
+
+        public enum Status { REPLAYED, FALLBACK, RESYNC }
+
+        static final Replay FALLBACK = new Replay(Status.FALLBACK, List.of());
+        static final Replay RESYNC = new Replay(Status.RESYNC, List.of());
+
+        static Replay messages(List<MessageResponse> messages) {
+            return new Replay(Status.REPLAYED, messages);
+        }
+    }
+
+    /**
+     * Sequence counter của một conversation, epoch ngẫu nhiên cho mỗi lần tạo
+     */
+    private static final class ConversationSequence {
+
+        private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        private final AtomicLong counter = new AtomicLong();
+    }
+
+    /**
+     * Ring buffer cố định kích thước của một user
+     */
+    private static final class UserBuffer {
+
+        private final MessageResponse[] slots;
+        private int next;
+
+        private UserBuffer(int capacity) {
+            this.slots = new MessageResponse[capacity];
+        }
+
+        synchronized void append(MessageResponse message) {
+            slots[next] = message;
+            next = (next + 1) % slots.length;
+        }
+
+        synchronized List<MessageResponse> collect(Long conversationId, long epoch,
+                                                   long afterSequence, long upToSequence) {
+            List<MessageResponse> result = new ArrayList<>();
+            for (MessageResponse message : slots) {
+                if (message != null
+                        && conversationId.equals(message.getConversationId())
+                        && message.getSequenceEpoch() != null
+                        && message.getSequenceEpoch() == epoch
+                        && message.getSequence() > afterSequence
+                        && message.getSequence() <= upToSequence) {
+                    result.add(message);
+                }
+            }
+            result.sort(Comparator.comparingLong(MessageResponse::getSequence));
+            return result;
+        }
+    }
+}
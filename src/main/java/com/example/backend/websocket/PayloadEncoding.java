@@ -0,0 +1,33 @@
+package com.example.backend.websocket;
+
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Các payload encoding hỗ trợ cho STOMP frame gửi về client
+ *
+ * CBOR đi với content-type application/octet-stream vì StompSubProtocolHandler
+ * chỉ gửi BinaryMessage cho content-type này, các content-type khác bị gửi dạng text.
+ */
+public enum PayloadEncoding {
+
+    JSON(MimeTypeUtils.APPLICATION_JSON),
+    CBOR(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+
+    private final MimeType mimeType;
+
+    PayloadEncoding(MimeType mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public MimeType getMimeType() {
+        return mimeType;
+    }
+
+    public static PayloadEncoding fromHeader(String value) {
+        if (value != null && value.trim().equalsIgnoreCase("cbor")) {
+            return CBOR;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gửi payload đến user theo encoding mà từng session đã negotiate
+ *
+ * Nếu không có session nào dùng CBOR thì gửi một lần như convertAndSendToUser thông thường,
+ * ngược lại encode riêng cho từng session.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionAwareMessageSender {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final StompSessionEncodingRegistry encodingRegistry;
+    private final StompUserDirectory userDirectory;
+
+    /**
+     * Gửi đến user theo userId; bỏ qua nếu user không có session nào đang kết nối
+     */
+    public void sendToUser(Long userId, String destination, Object payload) {
+        String principalName = userDirectory.principalName(userId);
+        if (principalName != null) {
+            sendToUser(principalName, destination, payload);
+        }
+    }
+
+    /**
+     * Gửi đến user theo tên principal của STOMP session (username)
+     */
+    public void sendToUser(String principalName, String destination, Object payload) {
+        SimpUser simpUser = userRegistry.getUser(principalName);
+        if (simpUser == null || !hasBinarySession(simpUser)) {
+            messagingTemplate.convertAndSendToUser(principalName, destination, payload);
+            return;
+        }
+
+        for (SimpSession session : simpUser.getSessions()) {
+            PayloadEncoding encoding = encodingRegistry.getEncoding(session.getId());
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(session.getId());
+            accessor.setContentType(encoding.getMimeType());
+            accessor.setLeaveMutable(true);
+
+            messagingTemplate.convertAndSendToUser(principalName, destination, payload, accessor.getMessageHeaders());
+        }
+    }
+
+    private boolean hasBinarySession(SimpUser simpUser) {
+        for (SimpSession session : simpUser.getSessions()) {
+            if (encodingRegistry.getEncoding(session.getId()) != PayloadEncoding.JSON) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
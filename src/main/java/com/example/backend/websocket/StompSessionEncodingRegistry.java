@@ -0,0 +1,91 @@
+package com.example.backend.websocket;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lưu payload encoding mà mỗi STOMP session đã negotiate lúc CONNECT
+ *
+ * Client gửi native header "payload-encoding: cbor" (mặc định json) và tùy chọn
+ * "sender-cache: true" để server bỏ username/avatar của sender đã gửi trước đó trong session.
+ * CBOR chỉ được chấp nhận cho session kết nối qua endpoint WebSocket thuần; qua SockJS
+ * mọi frame đều là text nên session đó luôn dùng JSON.
+ */
+@Component
+public class StompSessionEncodingRegistry {
+
+    public static final String ENCODING_HEADER = "payload-encoding";
+    public static final String SENDER_CACHE_HEADER = "sender-cache";
+
+    /**
+     * Session attribute do handshake của endpoint WebSocket thuần đặt, cho biết session gửi được binary frame
+     */
+    public static final String BINARY_FRAMES_ATTRIBUTE = "binaryFrames";
+
+    private static final int MAX_CACHED_SENDERS = 256;
+
+    private final Map<String, SessionEncoding> sessions = new ConcurrentHashMap<>();
+
+    public void register(String sessionId, String encodingHeader, String senderCacheHeader, boolean binaryFrames) {
+        if (sessionId == null) {
+            return;
+        }
+        PayloadEncoding encoding = PayloadEncoding.fromHeader(encodingHeader);
+        if (encoding == PayloadEncoding.JSON || !binaryFrames) {
+            // Session JSON giữ nguyên đường gửi mặc định, không cần lưu
+            return;
+        }
+        sessions.put(sessionId, new SessionEncoding(encoding, Boolean.parseBoolean(senderCacheHeader)));
+    }
+
+    public void remove(String sessionId) {
+        if (sessionId != null) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    public SessionEncoding get(String sessionId) {
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    public PayloadEncoding getEncoding(String sessionId) {
+        SessionEncoding session = get(sessionId);
+        return session != null ? session.getEncoding() : PayloadEncoding.JSON;
+    }
+
+    /**
+     * Encoding đã negotiate của một session
+     */
+    @Getter
+    public static final class SessionEncoding {
+
+        private final PayloadEncoding encoding;
+        private final boolean senderCacheEnabled;
+        private final Map<Long, Integer> sentSenders = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > MAX_CACHED_SENDERS;
+            }
+        };
+
+        private SessionEncoding(PayloadEncoding encoding, boolean senderCacheEnabled) {
+            this.encoding = encoding;
+            this.senderCacheEnabled = senderCacheEnabled;
+        }
+
+        /**
+         * Trả về true nếu summary (username, avatar) của sender đã được gửi trong session
+         * và không thay đổi; ngược lại ghi nhận summary mới và trả về false
+         */
+        public synchronized boolean markSenderSent(Long senderId, String username, String avatarUrl) {
+            int summaryHash = Objects.hash(username, avatarUrl);
+            Integer previous = sentSenders.put(senderId, summaryHash);
+            return previous != null && previous == summaryHash;
+        }
+    }
+}
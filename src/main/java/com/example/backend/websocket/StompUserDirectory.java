@@ -0,0 +1,77 @@
+package com.example.backend.websocket;
+
+import com.example.backend.security.UserPrincipal;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map userId -> tên principal của STOMP session đang kết nối
+ *
+ * Principal của STOMP session là username (UserPrincipal), trong khi service chỉ biết userId.
+ * Các nơi gửi /user/... dùng directory này để lấy đúng tên user destination trong O(1)
+ * thay vì duyệt toàn bộ SimpUserRegistry.
+ */
+@Component
+public class StompUserDirectory {
+
+    private final Map<Long, Entry> users = new ConcurrentHashMap<>();
+
+    public void register(@Nullable Principal principal, @Nullable String sessionId) {
+        Long userId = userIdOf(principal);
+        if (userId == null || sessionId == null) {
+            return;
+        }
+        users.compute(userId, (id, entry) -> {
+            Entry result = entry != null && entry.principalName.equals(principal.getName())
+                    ? entry
+                    : new Entry(principal.getName());
+            result.sessionIds.add(sessionId);
+            return result;
+        });
+    }
+
+    public void remove(@Nullable Principal principal, @Nullable String sessionId) {
+        Long userId = userIdOf(principal);
+        if (userId == null || sessionId == null) {
+            return;
+        }
+        users.computeIfPresent(userId, (id, entry) -> {
+            entry.sessionIds.remove(sessionId);
+            return entry.sessionIds.isEmpty() ? null : entry;
+        });
+    }
+
+    /**
+     * Tên principal của user nếu đang có session kết nối, ngược lại null
+     */
+    @Nullable
+    public String principalName(Long userId) {
+        Entry entry = userId != null ? users.get(userId) : null;
+        return entry != null ? entry.principalName : null;
+    }
+
+    @Nullable
+    static Long userIdOf(@Nullable Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        return null;
+    }
+
+    private static final class Entry {
+
+        private final String principalName;
+        private final Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+
+        private Entry(String principalName) {
+            this.principalName = principalName;
+        }
+    }
+}
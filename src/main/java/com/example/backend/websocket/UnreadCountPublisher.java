@@ -0,0 +1,58 @@
+package com.example.backend.websocket;
+
+import com.example.backend.dto.response.UnreadCountResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Push số notifications chưa đọc qua /user/queue/notifications
+ *
+ * Các thay đổi được gom lại và gửi theo chu kỳ (mặc định 1 giây),
+ * mỗi user nhận tối đa một frame mỗi chu kỳ với giá trị mới nhất.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCountPublisher {
+
+    private static final String DESTINATION = "/queue/notifications";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StompUserDirectory userDirectory;
+
+    // userId -> unread count mới nhất chưa được push
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public void publish(Long userId, long unreadCount) {
+        pending.put(userId, unreadCount);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.push-interval:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        for (Long userId : pending.keySet()) {
+            Long count = pending.remove(userId);
+            // Principal của STOMP session là username; user không online thì bỏ qua
+            String principalName = count != null ? userDirectory.principalName(userId) : null;
+            if (principalName == null) {
+                continue;
+            }
+            try {
+                messagingTemplate.convertAndSendToUser(
+                        principalName, DESTINATION, new UnreadCountResponse(count));
+            } catch (MessagingException e) {
+                log.warn("Failed to push unread count to user {}", userId, e);
+            }
+        }
+    }
+}
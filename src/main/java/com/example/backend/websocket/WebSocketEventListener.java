@@ -21,6 +21,8 @@ import java.security.Principal;
 public class WebSocketEventListener {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final StompSessionEncodingRegistry encodingRegistry;
+    private final StompUserDirectory userDirectory;
 
     /**
      * Event khi user connect WebSocket
@@ -30,9 +32,10 @@ public class WebSocketEventListener {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         Principal user = headerAccessor.getUser();
         
+        userDirectory.register(event.getUser(), headerAccessor.getSessionId());
+
         if (user != null) {
-            log.info("✅ WebSocket CONNECTED: User {} (Session: {})", 
-                    user.getName(), headerAccessor.getSessionId());
+            log.debug("event=ws.connected user={} session={}", user.getName(), headerAccessor.getSessionId());
             
             // Có thể broadcast user online status
             // messagingTemplate.convertAndSend("/topic/user.online", user.getName());
@@ -46,10 +49,12 @@ public class WebSocketEventListener {
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         Principal user = headerAccessor.getUser();
+
+        encodingRegistry.remove(event.getSessionId());
+        userDirectory.remove(event.getUser(), event.getSessionId());
         
         if (user != null) {
-            log.info("❌ WebSocket DISCONNECTED: User {} (Session: {})", 
-                    user.getName(), headerAccessor.getSessionId());
+            log.debug("event=ws.disconnected user={} session={}", user.getName(), headerAccessor.getSessionId());
             
             // Có thể broadcast user offline status
             // messagingTemplate.convertAndSend("/topic/user.offline", user.getName());
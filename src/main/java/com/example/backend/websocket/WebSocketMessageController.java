@@ -1,10 +1,16 @@
 package com.example.backend.websocket;
 
 import com.example.backend.dto.request.MessageRequest;
+import com.example.backend.dto.request.MessageResumeRequest;
 import com.example.backend.dto.response.MessageResponse;
+import com.example.backend.dto.response.MessageResumeResponse;
+import com.example.backend.ratelimit.RateLimitPolicy;
+import com.example.backend.ratelimit.RateLimited;
 import com.example.backend.service.MessageService;
+import com.example.backend.util.LogSampler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -12,6 +18,8 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * WebSocket Controller cho Real-time Messaging
@@ -21,14 +29,24 @@ import java.security.Principal;
 @Slf4j
 public class WebSocketMessageController {
 
+    // Log gửi tin nhắn tối đa một dòng mỗi giây
+    private static final LogSampler SEND_LOG_SAMPLER = new LogSampler(Duration.ofSeconds(1));
+
     private final MessageService messageService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MessageResumeBuffer resumeBuffer;
+    private final SessionAwareMessageSender sessionAwareSender;
+    private final StompUserDirectory userDirectory;
+
+    @Value("${app.websocket.resume-buffer.db-fallback-limit:100}")
+    private int dbFallbackLimit;
 
     /**
      * Gửi tin nhắn qua WebSocket
      * Client gửi đến: /app/chat.send
-     * Server broadcast đến: /user/{userId}/queue/messages
+     * Server broadcast đến: /user/{username}/queue/messages
      */
+    @RateLimited(RateLimitPolicy.MESSAGE_SEND)
     @MessageMapping("/chat.send")
     public void sendMessage(
             @Payload MessageRequest messageRequest,
@@ -38,14 +56,8 @@ public class WebSocketMessageController {
             // Lấy userId từ Principal
             Long senderId = getUserIdFromPrincipal(principal);
             
-            log.info("========== WEBSOCKET SEND MESSAGE ==========");
-            log.info("Principal: {}", principal != null ? principal.getName() : "NULL");
-            log.info("Sender ID: {}", senderId);
-            log.info("Recipient ID: {}", messageRequest.getRecipientId());
-            log.info("Content: {}", messageRequest.getContent());
-
             if (senderId == null) {
-                log.error("❌ Sender ID is NULL - Authentication failed");
+                log.warn("event=ws.send.unauthenticated principal={}", principal != null ? principal.getName() : null);
                 messagingTemplate.convertAndSendToUser(
                         "unknown",
                         "/queue/errors",
@@ -60,38 +72,41 @@ public class WebSocketMessageController {
                     messageRequest
             );
 
-            log.info("Message saved to database with ID: {}", messageResponse.getId());
+            // Gán sequence và lưu vào resume buffer của cả 2 users trước khi push
+            resumeBuffer.assignSequence(messageResponse);
+            resumeBuffer.append(messageRequest.getRecipientId(), messageResponse);
+            resumeBuffer.append(senderId, messageResponse);
 
-            // Gửi tin nhắn real-time đến người nhận
+            // Gửi tin nhắn real-time đến người nhận (resolve userId -> tên principal)
             String recipientDestination = "/queue/messages";
-            log.info("Sending to recipient {}: {}", messageRequest.getRecipientId(), recipientDestination);
-            
-            messagingTemplate.convertAndSendToUser(
-                    String.valueOf(messageRequest.getRecipientId()),
+            sessionAwareSender.sendToUser(
+                    messageRequest.getRecipientId(),
                     recipientDestination,
                     messageResponse
             );
 
             // Gửi confirmation về cho người gửi
-            log.info("Sending confirmation to sender {}", senderId);
-            messagingTemplate.convertAndSendToUser(
-                    String.valueOf(senderId),
+            sessionAwareSender.sendToUser(
+                    principal.getName(),
                     recipientDestination,
                     messageResponse
             );
 
-            log.info("✅ WebSocket: Message sent successfully to both users");
-            log.info("===========================================\n");
+            long skipped = SEND_LOG_SAMPLER.sample();
+            if (skipped >= 0) {
+                log.info("event=ws.send sender={} recipient={} conversation={} message={} skipped={}",
+                        senderId, messageRequest.getRecipientId(), messageResponse.getConversationId(),
+                        messageResponse.getId(), skipped);
+            }
 
         } catch (Exception e) {
-            log.error("❌ WebSocket: Error sending message", e);
-            e.printStackTrace();
+            log.error("event=ws.send.failed principal={}", principal != null ? principal.getName() : null, e);
             
             try {
                 Long senderId = getUserIdFromPrincipal(principal);
                 if (senderId != null) {
                     messagingTemplate.convertAndSendToUser(
-                            String.valueOf(senderId),
+                            principal.getName(),
                             "/queue/errors",
                             "Failed to send message: " + e.getMessage()
                     );
@@ -102,10 +117,88 @@ public class WebSocketMessageController {
         }
     }
 
+    /**
+     * Resume tin nhắn sau khi reconnect
+     * Client gửi đến: /app/chat.resume (kèm epoch và sequence cuối cùng đã nhận)
+     * Server trả về: /user/{username}/queue/messages.resume
+     */
+    @MessageMapping("/chat.resume")
+    public void resume(
+            @Payload MessageResumeRequest resumeRequest,
+            Principal principal) {
+
+        try {
+            Long userId = getUserIdFromPrincipal(principal);
+            if (userId == null) {
+                return;
+            }
+
+            Long conversationId = resumeRequest.getConversationId();
+            Long epoch = resumeBuffer.currentEpoch(conversationId);
+            long currentSequence = resumeBuffer.currentSequence(conversationId);
+            MessageResumeBuffer.Replay replay = resumeBuffer.replay(
+                    userId, conversationId, resumeRequest.getEpoch(), resumeRequest.getLastSequence());
+
+            MessageResumeResponse response;
+            switch (replay.status()) {
+                case REPLAYED -> {
+                    response = MessageResumeResponse.builder()
+                            .conversationId(conversationId)
+                            .epoch(epoch)
+                            .currentSequence(currentSequence)
+                            .fromBuffer(true)
+                            .hasMore(false)
+                            .messages(replay.messages())
+                            .build();
+                }
+                case RESYNC -> {
+                    // Cursor thuộc epoch cũ: sequence không còn ý nghĩa, client tải lại qua REST
+                    response = MessageResumeResponse.builder()
+                            .conversationId(conversationId)
+                            .epoch(epoch)
+                            .currentSequence(currentSequence)
+                            .resyncRequired(true)
+                            .fromBuffer(false)
+                            .hasMore(true)
+                            .messages(List.of())
+                            .build();
+                }
+                default -> {
+                    // Khoảng trống vượt quá buffer: fallback về DB
+                    List<MessageResponse> messages = resumeRequest.getLastMessageId() != null
+                            ? messageService.getMessagesAfter(conversationId, userId,
+                                    resumeRequest.getLastMessageId(), dbFallbackLimit)
+                            : List.of();
+                    response = MessageResumeResponse.builder()
+                            .conversationId(conversationId)
+                            .epoch(epoch)
+                            .currentSequence(currentSequence)
+                            .fromBuffer(false)
+                            .hasMore(resumeRequest.getLastMessageId() == null || messages.size() >= dbFallbackLimit)
+                            .messages(messages)
+                            .build();
+                }
+            }
+
+            log.debug("WebSocket: User {} resumed conversation {} from sequence {} ({} messages, status={})",
+                    userId, conversationId, resumeRequest.getLastSequence(),
+                    response.getMessages().size(), replay.status());
+
+            // User destination là tên principal (username), không phải userId
+            sessionAwareSender.sendToUser(
+                    principal.getName(),
+                    "/queue/messages.resume",
+                    response
+            );
+        } catch (Exception e) {
+            log.error("Error resuming messages", e);
+        }
+    }
+
     /**
      * User typing indicator
      * Client gửi đến: /app/chat.typing
-     * Server broadcast đến: /user/{recipientId}/queue/typing
+     * Server broadcast đến: /user/{recipient username}/queue/typing
      */
     @MessageMapping("/chat.typing")
     public void typing(
@@ -118,12 +211,15 @@ public class WebSocketMessageController {
             
             log.debug("WebSocket: User {} is typing to user {}", senderId, recipientId);
 
-            // Gửi typing indicator đến người nhận
-            messagingTemplate.convertAndSendToUser(
-                    recipientId.toString(),
-                    "/queue/typing",
-                    senderName + " is typing..."
-            );
+            // Gửi typing indicator đến người nhận (bỏ qua nếu người nhận không online)
+            String recipientName = userDirectory.principalName(recipientId);
+            if (recipientName != null) {
+                messagingTemplate.convertAndSendToUser(
+                        recipientName,
+                        "/queue/typing",
+                        senderName + " is typing..."
+                );
+            }
         } catch (Exception e) {
             log.error("Error sending typing indicator", e);
         }
@@ -0,0 +1,22 @@
+-- Flyway migration script: V2 -- Notification aggregation
+-- Groups notifications by (recipient, type, post, time bucket) so a viral post produces
+-- one row per bucket ("X and 41 others liked your post") instead of one row per like.
+
+-- actor_count:      number of actions folded into the row
+-- latest_actor_ids: comma-separated IDs of the most recent actors, newest first (max 5)
+-- bucket_key:       "<type>:<post_id or 0>:<bucket number>", unique per recipient
+-- created_at now holds the time of the latest action in the bucket.
+ALTER TABLE notifications
+    ADD COLUMN actor_count INT NOT NULL DEFAULT 1 AFTER post_id,
+    ADD COLUMN latest_actor_ids VARCHAR(255) NULL AFTER actor_count,
+    ADD COLUMN bucket_key VARCHAR(64) NULL AFTER latest_actor_ids;
+
+-- Existing rows each become their own bucket
+UPDATE notifications
+SET latest_actor_ids = CAST(sender_id AS CHAR),
+    bucket_key = CONCAT('legacy:', id);
+
+ALTER TABLE notifications MODIFY bucket_key VARCHAR(64) NOT NULL;
+
+-- Target of INSERT ... ON DUPLICATE KEY UPDATE for new events
+CREATE UNIQUE INDEX uk_notifications_recipient_bucket ON notifications(recipient_id, bucket_key);
@@ -0,0 +1,5 @@
+-- Flyway migration script: V3 -- Unread notification count index
+-- Covers COUNT(*) WHERE recipient_id = ? AND is_read = FALSE used to (re)load the
+-- cached unread counter, without touching the table rows. created_at also returns
+-- unread lists newest first without a filesort.
+CREATE INDEX idx_notifications_recipient_read_created ON notifications(recipient_id, is_read, created_at);
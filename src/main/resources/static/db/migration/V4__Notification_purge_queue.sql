@@ -0,0 +1,22 @@
+-- Flyway migration script: V4 -- Background notification purge
+-- Deleting a popular post or account used to cascade-delete millions of notifications
+-- in a single statement. Those deletes now go through notification_purge_queue and are
+-- executed by a background job in small batches.
+
+ALTER TABLE notifications
+    DROP FOREIGN KEY fk_notifications_recipient,
+    DROP FOREIGN KEY fk_notifications_sender,
+    DROP FOREIGN KEY fk_notifications_post;
+
+-- Table: notification_purge_queue
+-- Pending purges of notifications belonging to a deleted post or user.
+CREATE TABLE notification_purge_queue (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    target_type ENUM('POST', 'USER') NOT NULL,
+    target_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Batched deletes by sender / post (recipient already has idx_notifications_recipient_id)
+CREATE INDEX idx_notifications_sender_id ON notifications(sender_id);
+CREATE INDEX idx_notifications_post_id ON notifications(post_id);
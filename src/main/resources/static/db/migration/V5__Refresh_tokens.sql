@@ -0,0 +1,33 @@
+-- Flyway migration script: V5 -- Refresh tokens and access token revocation
+
+-- Table: refresh_tokens
+-- Opaque rotating refresh tokens, only the SHA-256 hash is stored.
+-- All tokens issued from one login share a family_id; presenting an already rotated
+-- token revokes the whole family (token theft detection).
+CREATE TABLE refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token_hash CHAR(64) NOT NULL,
+    family_id CHAR(36) NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user
+        FOREIGN KEY (user_id) REFERENCES users(id)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+
+-- Table: revoked_tokens
+-- Access token IDs (jti) revoked before they expire, loaded into an in-memory Bloom filter.
+-- Rows are removed once the access token would have expired anyway.
+CREATE TABLE revoked_tokens (
+    jti CHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
@@ -0,0 +1,34 @@
+-- Flyway migration script: V6 -- Composite indexes for hot list queries
+-- Every paginated list filters on one column and orders by a timestamp. With only the
+-- single-column FK indexes MySQL had to read all matching rows and filesort them before
+-- applying LIMIT. The composite indexes below return rows already in order, so a page
+-- reads only LIMIT index entries. InnoDB appends the primary key to every secondary index,
+-- which also makes ties on created_at resolve in a stable order.
+--
+-- Single-column indexes that become a prefix of a new composite index are dropped
+-- (the composite index also satisfies the foreign key) unless a query still relies on
+-- their implicit primary key order.
+
+-- PostRepository.findByUserIdOrderByCreatedAtDesc / findFeedPosts
+CREATE INDEX idx_posts_user_created ON posts(user_id, created_at, id);
+DROP INDEX idx_posts_user_id ON posts;
+
+-- MessageRepository.findByConversationId (conversation history, newest first).
+-- idx_messages_conversation_id is kept: findLastMessagesByConversationIds reads
+-- MAX(id) ... GROUP BY conversation_id from it with a loose index scan, and
+-- findByConversationIdAfter (resume after reconnect) scans id > ? in primary key order
+CREATE INDEX idx_messages_conversation_created ON messages(conversation_id, created_at, id);
+
+-- FollowerRepository.findFollowersByUserId (followers of a user, newest first)
+CREATE INDEX idx_followers_following_created ON followers(following_id, created_at);
+DROP INDEX idx_followers_following_id ON followers;
+
+-- FollowerRepository.findFollowingByUserId (users a user follows, newest first);
+-- the primary key (follower_id, following_id) cannot provide created_at order
+CREATE INDEX idx_followers_follower_created ON followers(follower_id, created_at);
+
+-- NotificationRepository.findByRecipientId (all notifications, newest first).
+-- No query relies on the primary key order of idx_notifications_recipient_id any more,
+-- so it is dropped; the composite index also backs fk_notifications_recipient (V9)
+CREATE INDEX idx_notifications_recipient_created ON notifications(recipient_id, created_at);
+DROP INDEX idx_notifications_recipient_id ON notifications;
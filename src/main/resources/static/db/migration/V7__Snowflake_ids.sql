@@ -0,0 +1,21 @@
+-- Flyway migration script: V7 -- Application-assigned IDs for high-volume tables
+-- posts, comments, messages and notifications now get time-ordered 53-bit IDs from
+-- SnowflakeIdGenerator (41-bit millis since 2025-01-01 | 4-bit node | 8-bit sequence)
+-- before the INSERT. Hibernate can only batch inserts when it knows the ID up front,
+-- which IDENTITY columns prevent.
+--
+-- AUTO_INCREMENT is removed so that an INSERT without an explicit ID fails instead of
+-- taking MAX(id) + 1 and colliding with a generated ID. Existing rows keep their IDs: they are
+-- far below any generated ID, so ordering by id still follows creation time.
+--
+-- The columns are referenced by foreign keys; the type does not change, but MySQL
+-- rejects any MODIFY of a referenced column unless foreign key checks are off.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE posts MODIFY id BIGINT NOT NULL;
+ALTER TABLE comments MODIFY id BIGINT NOT NULL;
+ALTER TABLE messages MODIFY id BIGINT NOT NULL;
+ALTER TABLE notifications MODIFY id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,28 @@
+-- Flyway migration script: V8 -- Distinct actors per notification bucket
+-- actor_count used to add one per action, so unlike / re-like by the same user inflated
+-- "N people liked your post" and latest_actor_ids could list the same actor several times.
+-- Each (recipient, bucket, actor) is now recorded once; the notification upsert derives
+-- actor_count and latest_actor_ids from this table (INSERT ... AS new needs MySQL 8.0.19+).
+--
+-- Rows are only needed while their bucket is still open: the retention job deletes rows
+-- older than two bucket widths.
+CREATE TABLE notification_actors (
+    recipient_id BIGINT NOT NULL,
+    bucket_key VARCHAR(64) NOT NULL,
+    actor_id BIGINT NOT NULL,
+    acted_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (recipient_id, bucket_key, actor_id),
+    -- Latest actors of a bucket: backward range scan with LIMIT, covered by the index
+    INDEX idx_notification_actors_latest (recipient_id, bucket_key, acted_at, actor_id),
+    -- Batched retention deletes
+    INDEX idx_notification_actors_acted_at (acted_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Buckets that may still be open keep their known actors
+INSERT IGNORE INTO notification_actors (recipient_id, bucket_key, actor_id, acted_at)
+SELECT n.recipient_id, n.bucket_key, actors.actor_id, n.created_at
+FROM notifications n,
+     JSON_TABLE(CONCAT('[', n.latest_actor_ids, ']'), '$[*]' COLUMNS (actor_id BIGINT PATH '$')) actors
+WHERE n.created_at >= NOW() - INTERVAL 2 DAY
+  AND n.latest_actor_ids IS NOT NULL
+  AND n.bucket_key NOT LIKE 'legacy:%';
@@ -0,0 +1,27 @@
+-- Flyway migration script: V9 -- Post-only notification purge queue
+-- There is no account deletion, so nothing ever enqueued USER purges. The queue only
+-- carries deleted posts; a post purge waits for a grace period (created_at) so that
+-- notifications still buffered for the post are flushed before it runs.
+ALTER TABLE notification_purge_queue MODIFY target_type ENUM('POST') NOT NULL;
+
+CREATE INDEX idx_notification_purge_queue_created_at ON notification_purge_queue(created_at);
+
+-- Only post deletes are fanned out through the queue. Deleting a user is rare, so the user
+-- foreign keys dropped in V4 come back with ON DELETE CASCADE and the database again
+-- removes a user's notifications. Rows already orphaned while the keys were missing
+-- are removed first so the constraints can be added.
+DELETE n FROM notifications n
+LEFT JOIN users u ON u.id = n.recipient_id
+WHERE u.id IS NULL;
+
+DELETE n FROM notifications n
+LEFT JOIN users u ON u.id = n.sender_id
+WHERE u.id IS NULL;
+
+ALTER TABLE notifications
+    ADD CONSTRAINT fk_notifications_recipient
+        FOREIGN KEY (recipient_id) REFERENCES users(id)
+        ON DELETE CASCADE,
+    ADD CONSTRAINT fk_notifications_sender
+        FOREIGN KEY (sender_id) REFERENCES users(id)
+        ON DELETE CASCADE;
@@ -0,0 +1,121 @@
+package com.example.backend.repository;
+
+import com.example.backend.metrics.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Kiểm tra các list query dùng đúng composite index (V6) và không filesort
+ *
+ * Chạy EXPLAIN trên đúng câu SQL Hibernate sinh ra cho từng repository method.
+ * Cần MySQL đã migrate và có dữ liệu (optimizer chọn plan khác trên bảng rỗng),
+ * ví dụ seed bằng profile "seed" trước rồi chạy với EXPLAIN_TESTS=true.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_TESTS", matches = "true")
+class IndexUsageTests {
+
+    private static final long ID = 1L;
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private FollowerRepository followerRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void postsByUserUseUserCreatedIndex() {
+        assertOrderedByIndex("idx_posts_user_created",
+                explain(() -> postRepository.findByUserIdOrderByCreatedAtDesc(ID, FIRST_PAGE)));
+        assertOrderedByIndex("idx_posts_user_created",
+                explain(() -> postRepository.findFeedPosts(ID, FIRST_PAGE)));
+    }
+
+    @Test
+    void messagesByConversationUseConversationCreatedIndex() {
+        assertOrderedByIndex("idx_messages_conversation_created",
+                explain(() -> messageRepository.findByConversationId(ID, FIRST_PAGE)));
+    }
+
+    @Test
+    void lastMessagesUseConversationIdIndex() {
+        // MAX(id) ... GROUP BY conversation_id đọc từ (conversation_id, id) bằng loose index scan
+        assertOrderedByIndex("idx_messages_conversation_id",
+                explain(() -> messageRepository.findLastMessagesByConversationIds(List.of(ID))));
+    }
+
+    @Test
+    void followListsUseFollowerCreatedIndexes() {
+        assertOrderedByIndex("idx_followers_following_created",
+                explain(() -> followerRepository.findFollowersByUserId(ID, FIRST_PAGE)));
+        assertOrderedByIndex("idx_followers_follower_created",
+                explain(() -> followerRepository.findFollowingByUserId(ID, FIRST_PAGE)));
+    }
+
+    @Test
+    void notificationQueriesUseRecipientIndexes() {
+        assertOrderedByIndex("idx_notifications_recipient_created",
+                explain(() -> notificationRepository.findByRecipientId(ID, FIRST_PAGE)));
+        assertUsesIndex("idx_notifications_recipient_read_created",
+                explain(() -> notificationRepository.countByRecipientIdAndIsReadFalse(ID)));
+    }
+
+    @Test
+    void conversationsByUserUseParticipantPrimaryKey() {
+        // Sắp xếp theo conversations.updated_at qua bảng join nên vẫn filesort,
+        // nhưng chỉ trên các conversation của user (tra theo PK (user_id, conversation_id))
+        assertUsesIndex("PRIMARY", explain(() -> conversationRepository.findByUserId(ID, FIRST_PAGE)));
+    }
+
+    /**
+     * EXPLAIN statement đầu tiên (query chính, không phải count query của Page)
+     */
+    private List<Map<String, Object>> explain(Runnable query) {
+        List<String> statements = QueryCounter.record(query);
+        assertFalse(statements.isEmpty(), "Repository method did not execute any SQL");
+
+        String sql = statements.get(0);
+        // Tham số đầu là ID cần lọc, các tham số còn lại là LIMIT / OFFSET
+        int parameterCount = (int) sql.chars().filter(c -> c == '?').count();
+        List<Object> parameters = new ArrayList<>();
+        for (int i = 0; i < parameterCount; i++) {
+            parameters.add(i == 0 ? ID : FIRST_PAGE.getPageSize());
+        }
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, parameters.toArray());
+    }
+
+    private static void assertUsesIndex(String index, List<Map<String, Object>> plan) {
+        assertTrue(plan.stream().anyMatch(row -> index.equals(row.get("key"))),
+                "Expected index " + index + " in plan " + plan);
+    }
+
+    private static void assertOrderedByIndex(String index, List<Map<String, Object>> plan) {
+        assertUsesIndex(index, plan);
+        assertTrue(plan.stream().noneMatch(row -> String.valueOf(row.get("Extra")).contains("Using filesort")),
+                "Expected no filesort in plan " + plan);
+    }
+}
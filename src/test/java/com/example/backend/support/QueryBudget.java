@@ -0,0 +1,64 @@
+package com.example.backend.support;
+
+import com.example.backend.metrics.QueryCountFilter;
+import com.example.backend.metrics.QueryCounter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+/**
+ * Test utility: fail khi một đoạn code / endpoint chạy nhiều SQL statements hơn budget đã khai báo
+ *
+ * Gọi trực tiếp service:
+ *   QueryBudget.assertAtMost(3, () -> postService.getFeedPosts(userId, pageable));
+ *
+ * Qua MockMvc (cần app.query-count.expose-header=true):
+ *   mockMvc.perform(get("/api/posts/feed")).andExpect(QueryBudget.atMost(3));
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxQueries, Supplier<T> action) {
+        boolean owner = !QueryCounter.isActive();
+        if (owner) {
+            QueryCounter.start();
+        }
+        int before = QueryCounter.current();
+        try {
+            T result = action.get();
+            check(maxQueries, QueryCounter.current() - before);
+            return result;
+        } finally {
+            if (owner) {
+                QueryCounter.stop();
+            }
+        }
+    }
+
+    public static void assertAtMost(int maxQueries, Runnable action) {
+        assertAtMost(maxQueries, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static ResultMatcher atMost(int maxQueries) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryCountFilter.HEADER);
+            if (header == null) {
+                throw new AssertionError("Response has no " + QueryCountFilter.HEADER
+                        + " header, enable app.query-count.expose-header");
+            }
+            check(maxQueries, Integer.parseInt(header));
+        };
+    }
+
+    private static void check(int maxQueries, int actual) {
+        if (actual > maxQueries) {
+            throw new AssertionError("Query budget exceeded: expected at most " + maxQueries
+                    + " SQL statements but " + actual + " were executed");
+        }
+    }
+}
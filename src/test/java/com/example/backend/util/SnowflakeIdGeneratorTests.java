@@ -0,0 +1,153 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Các bất biến mà purge job (firstIdAt) và findLastMessagesByConversationIds (MAX(id)) dựa vào
+ */
+class SnowflakeIdGeneratorTests {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 3, 1, 12, 0);
+    private static final long MILLIS = TIME.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    @Test
+    void idsAreUniqueAndIncreasingPerThreadUnderContention() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        int threads = 8;
+        int idsPerThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<long[]> task = () -> {
+                    start.await();
+                    long[] ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            Set<Long> all = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get();
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) {
+                        assertTrue(ids[i] > ids[i - 1], "IDs must increase within a thread");
+                    }
+                    all.add(ids[i]);
+                }
+            }
+            assertEquals(threads * idsPerThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nodeIdOccupiesItsOwnBits() {
+        SnowflakeIdGenerator node3 = new SnowflakeIdGenerator(3, () -> MILLIS);
+        SnowflakeIdGenerator node5 = new SnowflakeIdGenerator(5, () -> MILLIS);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            long id3 = node3.nextId();
+            long id5 = node5.nextId();
+            assertEquals(3, node(id3));
+            assertEquals(5, node(id5));
+            ids.add(id3);
+            ids.add(id5);
+        }
+        assertEquals(2000, ids.size());
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void sequenceOverflowMovesToNextMillisecond() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, () -> MILLIS);
+        int perMillisecond = 1 << SnowflakeIdGenerator.SEQUENCE_BITS;
+
+        for (int i = 0; i < perMillisecond; i++) {
+            long id = generator.nextId();
+            assertEquals(MILLIS, timestamp(id));
+            assertEquals(i, sequence(id));
+        }
+
+        long overflow = generator.nextId();
+        assertEquals(MILLIS + 1, timestamp(overflow));
+        assertEquals(0, sequence(overflow));
+    }
+
+    @Test
+    void clockGoingBackwardsStillIncreases() {
+        AtomicLong clock = new AtomicLong(MILLIS);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock::get);
+
+        long before = generator.nextId();
+        clock.set(MILLIS - 5_000);
+        long after = generator.nextId();
+
+        assertTrue(after > before);
+        assertEquals(MILLIS, timestamp(after));
+
+        // Đồng hồ đi tiếp vượt mốc cũ thì dùng lại thời gian thật
+        clock.set(MILLIS + 10);
+        assertEquals(MILLIS + 10, timestamp(generator.nextId()));
+    }
+
+    @Test
+    void firstIdAtIsLowerBoundOfIdsGeneratedFromThatTime() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID, () -> MILLIS);
+        long lowerBound = SnowflakeIdGenerator.firstIdAt(TIME);
+        long nextMillisecond = SnowflakeIdGenerator.firstIdAt(TIME.plusNanos(1_000_000));
+
+        for (int i = 0; i < 100; i++) {
+            long id = generator.nextId();
+            assertTrue(id >= lowerBound);
+            assertTrue(id < nextMillisecond);
+        }
+
+        // Thời điểm trước EPOCH không tạo cận âm
+        assertEquals(0, SnowflakeIdGenerator.firstIdAt(LocalDateTime.of(2000, 1, 1, 0, 0)));
+    }
+
+    private static long timestamp(long id) {
+        return (id >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS))
+                + SnowflakeIdGenerator.EPOCH;
+    }
+
+    private static long node(long id) {
+        return (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID;
+    }
+
+    private static long sequence(long id) {
+        return id & ((1L << SnowflakeIdGenerator.SEQUENCE_BITS) - 1);
+    }
+}
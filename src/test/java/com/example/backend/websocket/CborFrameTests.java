@@ -0,0 +1,169 @@
+package com.example.backend.websocket;
+
+import com.example.backend.dto.response.MessageResponse;
+import com.example.backend.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Gửi tin nhắn qua SessionAwareMessageSender, cho frame đi qua StompSubProtocolHandler
+ * như simple broker rồi decode lại STOMP frame mà WebSocket session thực sự nhận được
+ */
+class CborFrameTests {
+
+    private static final Long USER_ID = 42L;
+    private static final String USERNAME = "alice";
+    private static final String SESSION_ID = "s1";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final List<Message<?>> sent = new ArrayList<>();
+
+    private StompSessionEncodingRegistry encodingRegistry;
+    private SessionAwareMessageSender sender;
+
+    @BeforeEach
+    void setUp() {
+        encodingRegistry = new StompSessionEncodingRegistry();
+
+        MappingJackson2MessageConverter jsonConverter = new MappingJackson2MessageConverter();
+        jsonConverter.setObjectMapper(objectMapper);
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        messagingTemplate.setMessageConverter(new CompositeMessageConverter(List.of(
+                new CompactCborMessageConverter(objectMapper, encodingRegistry),
+                new StringMessageConverter(),
+                new ByteArrayMessageConverter(),
+                jsonConverter)));
+
+        SimpSession simpSession = mock(SimpSession.class);
+        when(simpSession.getId()).thenReturn(SESSION_ID);
+        SimpUser simpUser = mock(SimpUser.class);
+        when(simpUser.getName()).thenReturn(USERNAME);
+        when(simpUser.getSessions()).thenReturn(Set.of(simpSession));
+        SimpUserRegistry userRegistry = mock(SimpUserRegistry.class);
+        when(userRegistry.getUser(USERNAME)).thenReturn(simpUser);
+
+        StompUserDirectory userDirectory = new StompUserDirectory();
+        UserPrincipal userPrincipal = new UserPrincipal(USER_ID, USERNAME, "alice@example.com", null, List.of());
+        userDirectory.register(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, List.of()), SESSION_ID);
+
+        sender = new SessionAwareMessageSender(messagingTemplate, userRegistry, encodingRegistry, userDirectory);
+    }
+
+    @Test
+    void nativeCborSessionReceivesBinaryFrame() throws Exception {
+        encodingRegistry.register(SESSION_ID, "cbor", null, true);
+
+        sender.sendToUser(USER_ID, "/queue/messages", message());
+
+        assertEquals(1, sent.size());
+        assertEquals("/user/" + USERNAME + "/queue/messages",
+                SimpMessageHeaderAccessor.getDestination(sent.get(0).getHeaders()));
+
+        WebSocketMessage<?> frame = deliver(sent.get(0));
+        BinaryMessage binary = assertInstanceOf(BinaryMessage.class, frame);
+
+        List<Message<byte[]>> decoded = new StompDecoder().decode(binary.getPayload());
+        assertEquals(1, decoded.size());
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(decoded.get(0));
+        assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, headers.getContentType());
+
+        JsonNode body = new CBORMapper().readTree(decoded.get(0).getPayload());
+        assertEquals(7L, body.get("i").asLong());
+        assertEquals(USER_ID.longValue(), body.get("s").asLong());
+        assertEquals("hello", body.get("m").asText());
+        assertEquals(3L, body.get("q").asLong());
+    }
+
+    @Test
+    void sockJsSessionStaysOnJson() {
+        // Session SockJS không có attribute binary frame nên yêu cầu CBOR bị bỏ qua
+        encodingRegistry.register(SESSION_ID, "cbor", null, false);
+
+        sender.sendToUser(USER_ID, "/queue/messages", message());
+
+        assertEquals(PayloadEncoding.JSON, encodingRegistry.getEncoding(SESSION_ID));
+        WebSocketMessage<?> frame = deliver(sent.get(0));
+        TextMessage text = assertInstanceOf(TextMessage.class, frame);
+        assertTrue(text.getPayload().contains("\"content\":\"hello\""));
+    }
+
+    private MessageResponse message() {
+        return MessageResponse.builder()
+                .id(7L)
+                .conversationId(1L)
+                .senderId(USER_ID)
+                .senderUsername(USERNAME)
+                .content("hello")
+                .messageType("TEXT")
+                .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                .sequence(3L)
+                .build();
+    }
+
+    /**
+     * Mô phỏng simple broker: thêm subscription rồi đưa frame cho StompSubProtocolHandler ghi ra session
+     */
+    private WebSocketMessage<?> deliver(Message<?> message) {
+        SimpMessageHeaderAccessor brokerHeaders = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        brokerHeaders.setSessionId(SESSION_ID);
+        brokerHeaders.setSubscriptionId("sub-0");
+        brokerHeaders.setDestination("/user/queue/messages");
+        brokerHeaders.copyHeadersIfAbsent(message.getHeaders());
+        Message<byte[]> brokerMessage =
+                MessageBuilder.createMessage((byte[]) message.getPayload(), brokerHeaders.getMessageHeaders());
+
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(SESSION_ID);
+        when(session.isOpen()).thenReturn(true);
+
+        new StompSubProtocolHandler().handleMessageToClient(session, brokerMessage);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        try {
+            verify(session).sendMessage(captor.capture());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return captor.getValue();
+    }
+}